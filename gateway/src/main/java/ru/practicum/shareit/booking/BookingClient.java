@@ -4,12 +4,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientProperties;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -17,12 +21,16 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory serverRequestFactory,
+                         ServerClientProperties serverClientProperties) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                serverClientProperties.isPassThrough(),
+                serverRequestFactory
         );
     }
 
@@ -30,6 +38,10 @@ public class BookingClient extends BaseClient {
         return post("", requestDto.getUserId(), requestDto);
     }
 
+    public ResponseEntity<Object> addAll(long userId, List<BookingCreateDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
     public ResponseEntity<Object> approve(long userId, long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
@@ -39,17 +51,34 @@ public class BookingClient extends BaseClient {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookingsByBooker(long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name()
-        );
-        return get("?state={state}", userId, parameters);
+    public ResponseEntity<Object> getBookingsByBooker(long userId, BookingState state, LocalDateTime cursorStart,
+                                                      Long cursorId, int size) {
+        return getPage("", userId, state, cursorStart, cursorId, size);
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name()
-        );
-        return get("/owner?state={state}", userId, parameters);
+    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state, LocalDateTime cursorStart,
+                                                     Long cursorId, int size) {
+        return getPage("/owner", userId, state, cursorStart, cursorId, size);
+    }
+
+    public ResponseEntity<Object> exportBookingsByOwner(long userId, BookingExportFormat format) {
+        return getStream("/owner/export?format={format}", userId, Map.of("format", format.name()));
+    }
+
+    private ResponseEntity<Object> getPage(String path, long userId, BookingState state, LocalDateTime cursorStart,
+                                           Long cursorId, int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("size", size);
+        StringBuilder query = new StringBuilder(path).append("?state={state}&size={size}");
+        if (cursorStart != null) {
+            parameters.put("cursorStart", cursorStart);
+            query.append("&cursorStart={cursorStart}");
+        }
+        if (cursorId != null) {
+            parameters.put("cursorId", cursorId);
+            query.append("&cursorId={cursorId}");
+        }
+        return get(query.toString(), userId, parameters);
     }
 }
@@ -1,9 +1,12 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,6 +22,10 @@ import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.exception.ValidationException;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static ru.practicum.shareit.util.Const.DEFAULT_PAGE_SIZE;
 import static ru.practicum.shareit.util.Const.SHARER_USER_ID;
 
 
@@ -27,6 +34,11 @@ import static ru.practicum.shareit.util.Const.SHARER_USER_ID;
 @RequiredArgsConstructor
 @Slf4j
 public class BookingController {
+    /**
+     * Наибольшее количество броней в одном пакете.
+     */
+    private static final int MAX_BATCH_SIZE = 100;
+
     /**
      * Клиент для связи сервером по работе с бронированиями.
      */
@@ -37,12 +49,7 @@ public class BookingController {
     public ResponseEntity<Object> add(@RequestHeader(SHARER_USER_ID) @Positive long userId,
                                       @Valid @RequestBody BookingCreateDto bookingCreateDto) {
         log.info("==> add userId = {}, bookingCreateDto = {}", userId, bookingCreateDto);
-        if (bookingCreateDto.getStart().equals(bookingCreateDto.getEnd())) {
-            throw new ValidationException("Начало бронирования по дате/времени не может совпадать с его окончанием");
-        }
-        if (!bookingCreateDto.getEnd().isAfter(bookingCreateDto.getStart())) {
-            throw new ValidationException("Окончание бронирования должно быть после даты/времени его начала");
-        }
+        checkDates(bookingCreateDto);
 
         bookingCreateDto.setUserId(userId);
         ResponseEntity<Object> bookingDto = bookingClient.add(bookingCreateDto);
@@ -51,6 +58,22 @@ public class BookingController {
         return bookingDto;
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> addAll(@RequestHeader(SHARER_USER_ID) @Positive long userId,
+                                         @RequestBody @Size(min = 1, max = MAX_BATCH_SIZE)
+                                         List<@NotNull @Valid BookingCreateDto> bookingCreateDtos) {
+        log.info("==> addAll userId = {}, bookings count = {}", userId, bookingCreateDtos.size());
+        for (BookingCreateDto bookingCreateDto : bookingCreateDtos) {
+            checkDates(bookingCreateDto);
+            bookingCreateDto.setUserId(userId);
+        }
+
+        ResponseEntity<Object> results = bookingClient.addAll(userId, bookingCreateDtos);
+        log.info("<== addAll {}", results.getStatusCode());
+
+        return results;
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<Object> approve(@RequestHeader(SHARER_USER_ID) @Positive long userId,
                                           @PathVariable @Positive long bookingId,
@@ -75,9 +98,19 @@ public class BookingController {
     @GetMapping
     public ResponseEntity<Object> getBookingsByBooker(@RequestHeader(SHARER_USER_ID) @Positive long userId,
                                                       @RequestParam(name = "state", defaultValue = "ALL")
-                                                      BookingState state) {
-        log.info("==> getBookingsByBooker userId = {}, state = {}", userId, state);
-        ResponseEntity<Object> bookingsDto = bookingClient.getBookingsByBooker(userId, state);
+                                                      BookingState state,
+                                                      @RequestParam(name = "cursorStart", required = false)
+                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                      LocalDateTime cursorStart,
+                                                      @RequestParam(name = "cursorId", required = false)
+                                                      @Positive Long cursorId,
+                                                      @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE)
+                                                      @Positive int size) {
+        log.info("==> getBookingsByBooker userId = {}, state = {}, cursorStart = {}, cursorId = {}, size = {}",
+                userId, state, cursorStart, cursorId, size);
+        checkCursor(cursorStart, cursorId);
+        ResponseEntity<Object> bookingsDto = bookingClient.getBookingsByBooker(userId, state, cursorStart, cursorId,
+                size);
         log.info("<== {}", bookingsDto);
 
         return bookingsDto;
@@ -86,11 +119,61 @@ public class BookingController {
     @GetMapping("/owner")
     public ResponseEntity<Object> getBookingsByOwner(@RequestHeader(SHARER_USER_ID) @Positive long userId,
                                                      @RequestParam(name = "state", defaultValue = "ALL")
-                                                     BookingState state) {
-        log.info("==> getBookingsByOwner userId = {}, state = {}", userId, state);
-        ResponseEntity<Object> bookingsDto = bookingClient.getBookingsByOwner(userId, state);
+                                                     BookingState state,
+                                                     @RequestParam(name = "cursorStart", required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime cursorStart,
+                                                     @RequestParam(name = "cursorId", required = false)
+                                                     @Positive Long cursorId,
+                                                     @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE)
+                                                     @Positive int size) {
+        log.info("==> getBookingsByOwner userId = {}, state = {}, cursorStart = {}, cursorId = {}, size = {}",
+                userId, state, cursorStart, cursorId, size);
+        checkCursor(cursorStart, cursorId);
+        ResponseEntity<Object> bookingsDto = bookingClient.getBookingsByOwner(userId, state, cursorStart, cursorId,
+                size);
         log.info("<== {}", bookingsDto);
 
         return bookingsDto;
     }
+
+    /**
+     * Выгрузка всей истории бронирований по вещам текущего пользователя-владельца потоком NDJSON или CSV.
+     * Ответ сервера передается клиенту по мере поступления, не накапливаясь в шлюзе.
+     *
+     * @param userId идентификатор пользователя-владельца;
+     * @param format формат выгрузки.
+     * @return Поток выгрузки.
+     */
+    @GetMapping("/owner/export")
+    public ResponseEntity<Object> exportBookingsByOwner(@RequestHeader(SHARER_USER_ID) @Positive long userId,
+                                                        @RequestParam(name = "format", defaultValue = "NDJSON")
+                                                        BookingExportFormat format) {
+        log.info("==> exportBookingsByOwner userId = {}, format = {}", userId, format);
+        ResponseEntity<Object> export = bookingClient.exportBookingsByOwner(userId, format);
+        log.info("<== {}", export.getStatusCode());
+
+        return export;
+    }
+
+    /**
+     * Проверка курсора постраничной выдачи: дата начала и идентификатор брони задаются только вместе.
+     *
+     * @param cursorStart дата начала последней брони предыдущей страницы;
+     * @param cursorId    идентификатор последней брони предыдущей страницы.
+     */
+    private void checkCursor(LocalDateTime cursorStart, Long cursorId) {
+        if ((cursorStart == null) != (cursorId == null)) {
+            throw new ValidationException("Курсор страницы задается парой cursorStart и cursorId");
+        }
+    }
+
+    private void checkDates(BookingCreateDto bookingCreateDto) {
+        if (bookingCreateDto.getStart().equals(bookingCreateDto.getEnd())) {
+            throw new ValidationException("Начало бронирования по дате/времени не может совпадать с его окончанием");
+        }
+        if (!bookingCreateDto.getEnd().isAfter(bookingCreateDto.getStart())) {
+            throw new ValidationException("Окончание бронирования должно быть после даты/времени его начала");
+        }
+    }
 }
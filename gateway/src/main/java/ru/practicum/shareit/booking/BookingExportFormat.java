@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking;
+
+/**
+ * Форматы выгрузки истории бронирований
+ */
+public enum BookingExportFormat {
+    NDJSON,
+    CSV
+}
@@ -1,22 +1,65 @@
 package ru.practicum.shareit.client;
 
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class BaseClient {
+    /**
+     * Заголовки ответа сервера, не передаваемые клиенту: относящиеся к соединению шлюза с сервером
+     * и выставляемые самим шлюзом.
+     */
+    private static final Set<String> SKIPPED_RESPONSE_HEADERS = Set.of("connection", "keep-alive",
+            "transfer-encoding", "content-length", "te", "trailer", "upgrade", "proxy-authenticate",
+            "proxy-connection", "vary", "date");
+
     protected final RestTemplate rest;
 
+    /**
+     * Передача ответа сервера клиенту потоком байтов без разбора JSON.
+     */
+    private final boolean passThrough;
+
+    /**
+     * Фабрика запросов к серверу без перехватчиков {@link RestTemplate}, буферизующих тело запроса:
+     * через нее тело передается потоком.
+     */
+    @Nullable
+    private final ClientHttpRequestFactory streamingRequestFactory;
+
     public BaseClient(RestTemplate rest) {
+        this(rest, false);
+    }
+
+    public BaseClient(RestTemplate rest, boolean passThrough) {
+        this(rest, passThrough, null);
+    }
+
+    public BaseClient(RestTemplate rest, boolean passThrough,
+                      @Nullable ClientHttpRequestFactory streamingRequestFactory) {
         this.rest = rest;
+        this.passThrough = passThrough;
+        this.streamingRequestFactory = streamingRequestFactory;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -79,8 +122,53 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Передача тела запроса серверу потоком: байты копируются из запроса клиента в соединение с сервером
+     * без накопления в памяти шлюза, ответ сервера передается клиенту как есть.
+     */
+    protected ResponseEntity<Object> postStream(String path, long userId, MediaType contentType, InputStream body) {
+        return exchangeStream(HttpMethod.POST, rest.getUriTemplateHandler().expand(path), userId, contentType, body);
+    }
+
+    /**
+     * Получение ответа сервера потоком: тело копируется клиенту по мере поступления, минуя кэш ответов.
+     */
+    protected ResponseEntity<Object> getStream(String path, long userId, Map<String, Object> parameters) {
+        return exchangeStream(HttpMethod.GET, rest.getUriTemplateHandler().expand(path, parameters), userId, null,
+                null);
+    }
+
+    private ResponseEntity<Object> exchangeStream(HttpMethod method, URI uri, long userId,
+                                                  @Nullable MediaType contentType, @Nullable InputStream body) {
+        ClientHttpRequestFactory requestFactory = streamingRequestFactory != null
+                ? streamingRequestFactory
+                : rest.getRequestFactory();
+        try {
+            ClientHttpRequest request = requestFactory.createRequest(uri, method);
+            request.getHeaders().addAll(defaultHeaders(userId));
+            request.getHeaders().setAccept(List.of(MediaType.ALL));
+            if (body != null) {
+                request.getHeaders().setContentType(contentType);
+                if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+                    streamingRequest.setBody(body::transferTo);
+                } else {
+                    body.transferTo(request.getBody());
+                }
+            } else {
+                request.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+            }
+            return toGatewayResponse(request.execute());
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        if (passThrough) {
+            return passThrough(method, path, parameters, requestEntity);
+        }
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -95,6 +183,40 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    /**
+     * Выполнение запроса к серверу с передачей статуса, заголовков и тела ответа клиенту как есть: тело ответа
+     * копируется из соединения с сервером в ответ шлюза при записи, соединение освобождается после копирования.
+     */
+    private ResponseEntity<Object> passThrough(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                               HttpEntity<?> requestEntity) {
+        URI uri = parameters != null
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(requestEntity).doWithRequest(request);
+            return toGatewayResponse(request.execute());
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Ответ шлюза со статусом, заголовками и телом ответа сервера, которое копируется клиенту при записи.
+     */
+    private static ResponseEntity<Object> toGatewayResponse(ClientHttpResponse response) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (!SKIPPED_RESPONSE_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(headers)
+                .body(new InputStreamResource(new ResponseBodyStream(response)));
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -118,4 +240,21 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    /**
+     * Поток тела ответа сервера, закрывающий ответ (и возвращающий соединение в пул) при закрытии.
+     */
+    private static class ResponseBodyStream extends FilterInputStream {
+        private final ClientHttpResponse response;
+
+        private ResponseBodyStream(ClientHttpResponse response) throws IOException {
+            super(response.getBody());
+            this.response = response;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+
+/**
+ * Кэш GET-ответов сервера, подключаемый ко всем клиентам шлюза через {@link RestTemplateCustomizer}.
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+@ConditionalOnProperty(prefix = "shareit-server.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    @Bean
+    public Cache<URI, ResponseCacheInterceptor.UserResponses> serverResponseCache(
+            ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        Cache<URI, ResponseCacheInterceptor.UserResponses> cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((URI uri, ResponseCacheInterceptor.UserResponses responses) -> responses.weight())
+                .recordStats()
+                .build();
+
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "serverResponses");
+    }
+
+    @Bean
+    public ResponseCacheInterceptor responseCacheInterceptor(
+            Cache<URI, ResponseCacheInterceptor.UserResponses> serverResponseCache) {
+        return new ResponseCacheInterceptor(serverResponseCache);
+    }
+
+    @Bean
+    public RestTemplateCustomizer responseCacheCustomizer(ResponseCacheInterceptor responseCacheInterceptor) {
+        return restTemplate -> restTemplate.getInterceptors().add(responseCacheInterceptor);
+    }
+}
@@ -0,0 +1,259 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static ru.practicum.shareit.util.Const.SHARER_USER_ID;
+
+/**
+ * Кэширование GET-ответов сервера по адресу запроса (путь и параметры) и пользователю.
+ * <p>
+ * Сохраняются ответы 200 без {@code Cache-Control: no-store}, содержащие {@code ETag} или {@code max-age}.
+ * Ответ в пределах {@code max-age} (и без {@code no-cache}) отдается без обращения к серверу. Иначе при наличии
+ * {@code ETag} запрос к серверу отправляется с {@code If-None-Match}, и ответ 304 заменяется сохраненным телом.
+ * Изменяющие запросы к адресу удаляют его ответы для всех пользователей: ответы хранятся по адресу, а внутри -
+ * по пользователю, поэтому удаление не просматривает весь кэш. Размер кэша ограничен суммарным объемом тел,
+ * вытеснение (W-TinyLFU) удаляет ответы адреса для всех пользователей сразу.
+ */
+@RequiredArgsConstructor
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor {
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|,)\\s*max-age\\s*=\\s*(\\d+)");
+
+    /**
+     * Закэшированные ответы.
+     */
+    private final Cache<URI, UserResponses> cache;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (request.getMethod() != HttpMethod.HEAD && request.getMethod() != HttpMethod.OPTIONS) {
+                invalidate(request.getURI());
+            }
+            return response;
+        }
+
+        URI uri = request.getURI();
+        String userId = userId(request);
+        UserResponses responses = cache.getIfPresent(uri);
+        CachedResponse cached = responses == null ? null : responses.get(userId);
+        long now = System.currentTimeMillis();
+        if (cached != null && cached.isFresh(now)) {
+            return cached.toResponse();
+        }
+        if (cached != null && cached.getEtag() != null) {
+            request.getHeaders().setIfNoneMatch(cached.getEtag());
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            response.close();
+            CachedResponse revalidated = cached.revalidated(response.getHeaders(), now);
+            put(uri, userId, revalidated);
+            return revalidated.toResponse();
+        }
+        if (!isStorable(response)) {
+            if (cached != null) {
+                cache.asMap().computeIfPresent(uri, (u, stored) -> stored.without(userId));
+            }
+            return response;
+        }
+
+        CachedResponse stored;
+        try (response) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            stored = new CachedResponse(response.getStatusCode(), headers,
+                    StreamUtils.copyToByteArray(response.getBody()), now);
+        }
+        put(uri, userId, stored);
+
+        return stored.toResponse();
+    }
+
+    private void put(URI uri, String userId, CachedResponse response) {
+        cache.asMap().compute(uri, (u, stored) -> (stored == null ? UserResponses.EMPTY : stored)
+                .with(userId, response));
+    }
+
+    private void invalidate(URI uri) {
+        cache.invalidate(uri);
+    }
+
+    /**
+     * Идентификатор пользователя запроса; пустая строка, если заголовок не передан.
+     */
+    private static String userId(HttpRequest request) {
+        String userId = request.getHeaders().getFirst(SHARER_USER_ID);
+        return userId == null ? "" : userId;
+    }
+
+    private static boolean isStorable(ClientHttpResponse response) throws IOException {
+        if (response.getStatusCode() != HttpStatus.OK) {
+            return false;
+        }
+        String cacheControl = cacheControl(response.getHeaders());
+        if (cacheControl.contains("no-store")) {
+            return false;
+        }
+
+        return response.getHeaders().getETag() != null || maxAgeMillis(cacheControl) > 0;
+    }
+
+    private static String cacheControl(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        return cacheControl == null ? "" : cacheControl.toLowerCase(Locale.ROOT);
+    }
+
+    private static long maxAgeMillis(String cacheControl) {
+        if (cacheControl.contains("no-cache")) {
+            return 0;
+        }
+        Matcher matcher = MAX_AGE.matcher(cacheControl);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) * 1000 : 0;
+    }
+
+    /**
+     * Ответы по одному адресу запроса к серверу для разных пользователей. Неизменяем: кэш пересчитывает вес
+     * записи при ее замене.
+     */
+    static final class UserResponses {
+        private static final UserResponses EMPTY = new UserResponses(Map.of());
+
+        private final Map<String, CachedResponse> byUser;
+        private final int weight;
+
+        private UserResponses(Map<String, CachedResponse> byUser) {
+            this.byUser = byUser;
+            this.weight = byUser.values().stream().mapToInt(CachedResponse::weight).sum();
+        }
+
+        @Nullable
+        private CachedResponse get(String userId) {
+            return byUser.get(userId);
+        }
+
+        private UserResponses with(String userId, CachedResponse response) {
+            Map<String, CachedResponse> updated = new HashMap<>(byUser);
+            updated.put(userId, response);
+            return new UserResponses(Collections.unmodifiableMap(updated));
+        }
+
+        /**
+         * Ответы без ответа пользователя; null, если других ответов нет (запись удаляется из кэша).
+         */
+        @Nullable
+        private UserResponses without(String userId) {
+            if (!byUser.containsKey(userId)) {
+                return this;
+            }
+            Map<String, CachedResponse> updated = new HashMap<>(byUser);
+            updated.remove(userId);
+            return updated.isEmpty() ? null : new UserResponses(Collections.unmodifiableMap(updated));
+        }
+
+        int weight() {
+            return weight;
+        }
+    }
+
+    /**
+     * Сохраненный ответ сервера.
+     */
+    @Getter
+    static final class CachedResponse {
+        private final HttpStatusCode statusCode;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        @Nullable
+        private final String etag;
+
+        /**
+         * Момент, до которого ответ можно отдавать без обращения к серверу.
+         */
+        private final long freshUntil;
+
+        private CachedResponse(HttpStatusCode statusCode, HttpHeaders headers, byte[] body, long now) {
+            this.statusCode = statusCode;
+            this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+            this.body = body;
+            this.etag = headers.getETag();
+            this.freshUntil = now + maxAgeMillis(cacheControl(headers));
+        }
+
+        private boolean isFresh(long now) {
+            return now < freshUntil;
+        }
+
+        /**
+         * Ответ после подтверждения сервером (304): заголовки кэширования, присланные с 304, заменяют сохраненные.
+         */
+        private CachedResponse revalidated(HttpHeaders notModifiedHeaders, long now) {
+            HttpHeaders updated = new HttpHeaders();
+            updated.putAll(headers);
+            if (notModifiedHeaders.getCacheControl() != null) {
+                updated.setCacheControl(notModifiedHeaders.getCacheControl());
+            }
+            if (notModifiedHeaders.getETag() != null) {
+                updated.setETag(notModifiedHeaders.getETag());
+            }
+            return new CachedResponse(statusCode, updated, body, now);
+        }
+
+        int weight() {
+            return body.length;
+        }
+
+        private ClientHttpResponse toResponse() {
+            return new ClientHttpResponse() {
+                @Override
+                public HttpStatusCode getStatusCode() {
+                    return statusCode;
+                }
+
+                @Override
+                public String getStatusText() {
+                    return HttpStatus.valueOf(statusCode.value()).getReasonPhrase();
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return headers;
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return new ByteArrayInputStream(body);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
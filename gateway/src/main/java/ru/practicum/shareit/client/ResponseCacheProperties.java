@@ -0,0 +1,24 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Настройки кэша GET-ответов сервера в шлюзе (префикс {@code shareit-server.cache}).
+ */
+@ConfigurationProperties(prefix = "shareit-server.cache")
+@Getter
+@Setter
+public class ResponseCacheProperties {
+    /**
+     * Включение кэша.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Максимальный суммарный размер тел закэшированных ответов.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(16);
+}
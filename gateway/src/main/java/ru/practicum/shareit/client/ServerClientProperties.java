@@ -0,0 +1,50 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки общего пула HTTP-соединений шлюза с сервером (префикс {@code shareit-server.client}).
+ */
+@ConfigurationProperties(prefix = "shareit-server.client")
+@Getter
+@Setter
+public class ServerClientProperties {
+    /**
+     * Максимальное количество соединений с сервером (все клиенты обращаются к одному адресу).
+     */
+    private int maxConnections = 200;
+
+    /**
+     * Время ожидания установки соединения.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Время ожидания ответа сервера.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Время ожидания свободного соединения в пуле.
+     */
+    private Duration poolTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Время удержания простаивающего соединения открытым.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Время простоя, после которого соединение проверяется перед повторным использованием.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /**
+     * Передача ответов сервера клиенту потоком байтов без промежуточного разбора и сериализации JSON.
+     */
+    private boolean passThrough = true;
+}
@@ -3,15 +3,18 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientProperties;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.io.InputStream;
 import java.util.Map;
 
 @Service
@@ -19,12 +22,16 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory serverRequestFactory,
+                      ServerClientProperties serverClientProperties) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                serverClientProperties.isPassThrough(),
+                serverRequestFactory
         );
     }
 
@@ -32,6 +39,10 @@ public class ItemClient extends BaseClient {
         return post("", requestDto.getUserId(), requestDto);
     }
 
+    public ResponseEntity<Object> importItems(long userId, MediaType contentType, InputStream body) {
+        return postStream("/import", userId, contentType, body);
+    }
+
     public ResponseEntity<Object> update(ItemUpdateDto requestDto) {
         return patch("/" + requestDto.getId(), requestDto.getUserId(), null, requestDto);
     }
@@ -44,11 +55,13 @@ public class ItemClient extends BaseClient {
         return get("/", userId, null);
     }
 
-    public ResponseEntity<Object> search(String text, long userId) {
+    public ResponseEntity<Object> search(String text, long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
-                "text", text
+                "text", text,
+                "from", from,
+                "size", size
         );
-        return get("/search?text={text}", userId, parameters);
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
     public ResponseEntity<Object> addComment(CommentCreateDto requestDto) {
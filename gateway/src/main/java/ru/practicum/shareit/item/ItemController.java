@@ -2,9 +2,12 @@ package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -20,6 +23,9 @@ import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import java.io.InputStream;
+
+import static ru.practicum.shareit.util.Const.DEFAULT_PAGE_SIZE;
 import static ru.practicum.shareit.util.Const.SHARER_USER_ID;
 
 /**
@@ -54,6 +60,25 @@ public class ItemController {
         return itemDto;
     }
 
+    /**
+     * Метод импорта вещей пользователя из потока NDJSON или CSV. Тело запроса передается серверу потоком.
+     *
+     * @param userId      идентификатор добавляющего вещи пользователя;
+     * @param contentType тип содержимого запроса;
+     * @param body        поток строк с вещами.
+     * @return Итог импорта.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<Object> importItems(@RequestHeader(SHARER_USER_ID) @Positive long userId,
+                                              @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                              InputStream body) {
+        log.info("==> importItems userId = {}, contentType = {}", userId, contentType);
+        ResponseEntity<Object> result = itemClient.importItems(userId, contentType, body);
+        log.info("<== {}", result.getStatusCode());
+
+        return result;
+    }
+
     /**
      * Метод изменения вещи.
      *
@@ -111,17 +136,21 @@ public class ItemController {
      * Метод поиска вещей, доступных для аренды, по названию и/или описанию.
      *
      * @param userId идентификатор владельца для получения данных;
-     * @param text   строка поиска.
-     * @return Список данных по вещам.
+     * @param text   строка поиска;
+     * @param from   количество пропускаемых результатов;
+     * @param size   максимальное количество результатов.
+     * @return Список данных по вещам в порядке убывания релевантности.
      */
     @GetMapping("/search")
     public ResponseEntity<Object> search(@RequestHeader(SHARER_USER_ID) @Positive long userId,
-                                         @RequestParam String text) {
-        log.info("==> search by userId = {}, text = {}", userId, text);
+                                         @RequestParam String text,
+                                         @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                         @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive int size) {
+        log.info("==> search by userId = {}, text = {}, from = {}, size = {}", userId, text, from, size);
         if (text.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.OK);
         }
-        ResponseEntity<Object> itemsDto = itemClient.search(text, userId);
+        ResponseEntity<Object> itemsDto = itemClient.search(text, userId, from, size);
         log.info("<== {}", itemsDto);
 
         return itemsDto;
@@ -20,11 +20,21 @@ import lombok.ToString;
 @AllArgsConstructor
 @ToString
 public class ItemCreateDto {
-    @Size(max = 100, message = "Максимальная длина краткого названия - 100 символов.")
+    /**
+     * Наибольшая длина названия (на сервере - {@code Item.NAME_MAX_LENGTH}).
+     */
+    public static final int NAME_MAX_LENGTH = 100;
+
+    /**
+     * Наибольшая длина описания (на сервере - {@code Item.DESCRIPTION_MAX_LENGTH}).
+     */
+    public static final int DESCRIPTION_MAX_LENGTH = 255;
+
+    @Size(max = NAME_MAX_LENGTH, message = "Максимальная длина краткого названия - 100 символов.")
     @NotBlank(message = "Название не может быть пустым.")
     private String name;
 
-    @Size(max = 255, message = "Максимальная длина описания - 255 символов.")
+    @Size(max = DESCRIPTION_MAX_LENGTH, message = "Максимальная длина описания - 255 символов.")
     @NotBlank(message = "Описание не может быть пустым.")
     private String description;
 
@@ -18,10 +18,10 @@ import lombok.ToString;
 public class ItemUpdateDto {
     private Long id;
 
-    @Size(max = 100, message = "Максимальная длина краткого названия - 100 символов.")
+    @Size(max = ItemCreateDto.NAME_MAX_LENGTH, message = "Максимальная длина краткого названия - 100 символов.")
     private String name;
 
-    @Size(max = 255, message = "Максимальная длина описания - 255 символов.")
+    @Size(max = ItemCreateDto.DESCRIPTION_MAX_LENGTH, message = "Максимальная длина описания - 255 символов.")
     private String description;
 
     private Boolean available;
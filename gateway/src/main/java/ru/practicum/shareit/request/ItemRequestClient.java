@@ -4,23 +4,31 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientProperties;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory serverRequestFactory,
+                             ServerClientProperties serverClientProperties) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                serverClientProperties.isPassThrough()
         );
     }
 
@@ -32,11 +40,29 @@ public class ItemRequestClient extends BaseClient {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getRequestsByRequestorId(long userId) {
-        return get("", userId, null);
+    public ResponseEntity<Object> getRequestsByRequestorId(long userId, LocalDateTime cursorCreated, Long cursorId,
+                                                           int size) {
+        return getPage("", userId, cursorCreated, cursorId, size);
+    }
+
+    public ResponseEntity<Object> getRequestsByOtherUsers(long userId, LocalDateTime cursorCreated, Long cursorId,
+                                                          int size) {
+        return getPage("/all", userId, cursorCreated, cursorId, size);
     }
 
-    public ResponseEntity<Object> getRequestsByOtherUsers(long userId) {
-        return get("/all", userId, null);
+    private ResponseEntity<Object> getPage(String path, long userId, LocalDateTime cursorCreated, Long cursorId,
+                                           int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        StringBuilder query = new StringBuilder(path).append("?size={size}");
+        if (cursorCreated != null) {
+            parameters.put("cursorCreated", cursorCreated);
+            query.append("&cursorCreated={cursorCreated}");
+        }
+        if (cursorId != null) {
+            parameters.put("cursorId", cursorId);
+            query.append("&cursorId={cursorId}");
+        }
+        return get(query.toString(), userId, parameters);
     }
 }
@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +13,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.util.Const.DEFAULT_PAGE_SIZE;
 import static ru.practicum.shareit.util.Const.SHARER_USER_ID;
 
 /**
@@ -51,30 +57,58 @@ public class ItemRequestController {
     }
 
     /**
-     * Метод получения своих запросов вещей.
+     * Метод получения страницы своих запросов вещей.
      *
-     * @param userId идентификатор пользователя, запросившего вещи.
+     * @param userId        идентификатор пользователя, запросившего вещи;
+     * @param cursorCreated дата создания последнего запроса предыдущей страницы;
+     * @param cursorId      идентификатор последнего запроса предыдущей страницы;
+     * @param size          размер страницы.
      * @return Список данных по запросах вещей с ответами.
      */
     @GetMapping
-    public ResponseEntity<Object> getRequestsByRequestorId(@RequestHeader(SHARER_USER_ID) @Positive long userId) {
-        log.info("==> getRequestsByRequestorId userId = {}", userId);
-        ResponseEntity<Object> itemRequestDtos = itemRequestClient.getRequestsByRequestorId(userId);
+    public ResponseEntity<Object> getRequestsByRequestorId(@RequestHeader(SHARER_USER_ID) @Positive long userId,
+                                                           @RequestParam(name = "cursorCreated", required = false)
+                                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                           LocalDateTime cursorCreated,
+                                                           @RequestParam(name = "cursorId", required = false)
+                                                           @Positive Long cursorId,
+                                                           @RequestParam(name = "size",
+                                                                   defaultValue = DEFAULT_PAGE_SIZE)
+                                                           @Positive int size) {
+        log.info("==> getRequestsByRequestorId userId = {}, cursorCreated = {}, cursorId = {}, size = {}", userId,
+                cursorCreated, cursorId, size);
+        checkCursor(cursorCreated, cursorId);
+        ResponseEntity<Object> itemRequestDtos = itemRequestClient.getRequestsByRequestorId(userId, cursorCreated,
+                cursorId, size);
         log.info("<== getRequestsByRequestorId {}", itemRequestDtos);
 
         return itemRequestDtos;
     }
 
     /**
-     * Метод получения запросов вещей от других пользователей.
+     * Метод получения страницы запросов вещей от других пользователей.
      *
-     * @param userId идентификатор пользователя, ищущего запросы.
+     * @param userId        идентификатор пользователя, ищущего запросы;
+     * @param cursorCreated дата создания последнего запроса предыдущей страницы;
+     * @param cursorId      идентификатор последнего запроса предыдущей страницы;
+     * @param size          размер страницы.
      * @return Список данных по запросах вещей с ответами.
      */
     @GetMapping("/all")
-    public ResponseEntity<Object> getRequestsByOtherUsers(@RequestHeader(SHARER_USER_ID) @Positive long userId) {
-        log.info("==> getRequestsByOtherUsers userId = {}", userId);
-        ResponseEntity<Object> itemRequestDtos = itemRequestClient.getRequestsByOtherUsers(userId);
+    public ResponseEntity<Object> getRequestsByOtherUsers(@RequestHeader(SHARER_USER_ID) @Positive long userId,
+                                                          @RequestParam(name = "cursorCreated", required = false)
+                                                          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                          LocalDateTime cursorCreated,
+                                                          @RequestParam(name = "cursorId", required = false)
+                                                          @Positive Long cursorId,
+                                                          @RequestParam(name = "size",
+                                                                  defaultValue = DEFAULT_PAGE_SIZE)
+                                                          @Positive int size) {
+        log.info("==> getRequestsByOtherUsers userId = {}, cursorCreated = {}, cursorId = {}, size = {}", userId,
+                cursorCreated, cursorId, size);
+        checkCursor(cursorCreated, cursorId);
+        ResponseEntity<Object> itemRequestDtos = itemRequestClient.getRequestsByOtherUsers(userId, cursorCreated,
+                cursorId, size);
         log.info("<== getRequestsByOtherUsers {}", itemRequestDtos);
 
         return itemRequestDtos;
@@ -96,4 +130,16 @@ public class ItemRequestController {
 
         return itemRequestDto;
     }
+
+    /**
+     * Проверка курсора постраничной выдачи: дата создания и идентификатор запроса задаются только вместе.
+     *
+     * @param cursorCreated дата создания последнего запроса предыдущей страницы;
+     * @param cursorId      идентификатор последнего запроса предыдущей страницы.
+     */
+    private void checkCursor(LocalDateTime cursorCreated, Long cursorId) {
+        if ((cursorCreated == null) != (cursorId == null)) {
+            throw new ValidationException("Курсор страницы задается парой cursorCreated и cursorId");
+        }
+    }
 }
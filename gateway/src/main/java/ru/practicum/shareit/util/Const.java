@@ -5,4 +5,9 @@ public class Const {
      * Константа поля заголовка запроса со значением идентификатора пользователя.
      */
     public static final String SHARER_USER_ID = "X-Sharer-User-Id";
+
+    /**
+     * Размер страницы по умолчанию для постраничной выдачи списков.
+     */
+    public static final String DEFAULT_PAGE_SIZE = "20";
 }
@@ -0,0 +1,204 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaseClientTest {
+    private static final String KEEP_ALIVE = "Keep-Alive";
+    private static final String ITEM_JSON = "{\"id\":1,\"name\":\"Дрель\"}";
+
+    private final Map<String, Headers> requests = new ConcurrentHashMap<>();
+    private final CountDownLatch firstLineRead = new CountDownLatch(1);
+    private final AtomicBoolean streamed = new AtomicBoolean();
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private BaseClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items/1", exchange -> {
+            requests.put(exchange.getRequestURI().getPath(), exchange.getRequestHeaders());
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+            exchange.getResponseHeaders().add("X-Total-Count", "1");
+            exchange.getResponseHeaders().add(KEEP_ALIVE, "timeout=5");
+            exchange.getResponseHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            respond(exchange, HttpStatus.OK, ITEM_JSON);
+        });
+        server.createContext("/items/2", exchange -> {
+            requests.put(exchange.getRequestURI().getPath(), exchange.getRequestHeaders());
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+            respond(exchange, HttpStatus.NOT_FOUND, "{\"error\":\"Вещь не найдена\"}");
+        });
+        server.createContext("/items/import", exchange -> {
+            requests.put(exchange.getRequestURI().getPath(), exchange.getRequestHeaders());
+            long received;
+            try (InputStream body = exchange.getRequestBody()) {
+                received = body.transferTo(OutputStream.nullOutputStream());
+            }
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+            respond(exchange, HttpStatus.CREATED, "{\"received\":" + received + "}");
+        });
+        server.createContext("/items/export", exchange -> {
+            requests.put(exchange.getRequestURI().getPath(), exchange.getRequestHeaders());
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "text/csv");
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"items.csv\"");
+            exchange.sendResponseHeaders(HttpStatus.OK.value(), 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write((exchange.getRequestURI().getQuery() + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                // the rest is written only after the client has read the first line
+                try {
+                    streamed.set(firstLineRead.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                out.write("1,Дрель\n".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.start();
+
+        // one pooled connection: a response stream left open would block the next request
+        httpClient = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(1)
+                        .setMaxConnPerRoute(1)
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofSeconds(1))
+                        .build())
+                .build();
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        RestTemplate rest = new RestTemplate(requestFactory);
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:"
+                + server.getAddress().getPort() + "/items"));
+        client = new BaseClient(rest, true, requestFactory);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void passThroughCopiesStatusHeadersAndBody() throws IOException {
+        ResponseEntity<Object> response = client.get("/1", 1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE)).isEqualTo("application/json");
+        assertThat(response.getHeaders().getFirst("X-Total-Count")).isEqualTo("1");
+        assertThat(response.getHeaders()).doesNotContainKeys(HttpHeaders.TRANSFER_ENCODING, KEEP_ALIVE,
+                HttpHeaders.VARY, HttpHeaders.DATE, HttpHeaders.CONNECTION, HttpHeaders.CONTENT_LENGTH);
+        assertThat(readBody(response)).isEqualTo(ITEM_JSON);
+        assertThat(requests.get("/items/1").getFirst("X-Sharer-User-Id")).isEqualTo("1");
+    }
+
+    @Test
+    void passThroughCopiesErrorResponse() throws IOException {
+        ResponseEntity<Object> response = client.get("/2", 1L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(readBody(response)).isEqualTo("{\"error\":\"Вещь не найдена\"}");
+    }
+
+    @Test
+    void passThroughReleasesConnectionOnClose() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            ResponseEntity<Object> response = client.get("/1", 1L);
+
+            // the body is not read to the end, so only close returns the connection to the pool
+            try (InputStream body = ((InputStreamResource) response.getBody()).getInputStream()) {
+                assertThat(body.read()).isEqualTo('{');
+            }
+        }
+    }
+
+    @Test
+    void postStreamSendsBodyChunked() throws IOException {
+        byte[] csv = "name,description,available\nДрель,Ударная,true\n".repeat(10_000)
+                .getBytes(StandardCharsets.UTF_8);
+
+        ResponseEntity<Object> response = client.postStream("/import", 1L, MediaType.parseMediaType("text/csv"),
+                new ByteArrayInputStream(csv));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(readBody(response)).isEqualTo("{\"received\":" + csv.length + "}");
+        Headers request = requests.get("/items/import");
+        assertThat(request.getFirst(HttpHeaders.CONTENT_TYPE)).isEqualTo("text/csv");
+        assertThat(request.getFirst("X-Sharer-User-Id")).isEqualTo("1");
+        // the body length is unknown to the gateway, so it is never buffered to compute one
+        assertThat(request.getFirst(HttpHeaders.TRANSFER_ENCODING)).isEqualTo("chunked");
+        assertThat(request.containsKey(HttpHeaders.CONTENT_LENGTH)).isFalse();
+    }
+
+    @Test
+    void getStreamCopiesBodyAsItArrives() throws IOException {
+        ResponseEntity<Object> response = client.getStream("/export?format={format}", 1L, Map.of("format", "CSV"));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.parseMediaType("text/csv"));
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
+                .isEqualTo("attachment; filename=\"items.csv\"");
+        assertThat(response.getHeaders()).doesNotContainKeys(HttpHeaders.TRANSFER_ENCODING, HttpHeaders.DATE);
+        try (BufferedReader body = new BufferedReader(new InputStreamReader(
+                ((InputStreamResource) response.getBody()).getInputStream(), StandardCharsets.UTF_8))) {
+            assertThat(body.readLine()).isEqualTo("format=CSV");
+            firstLineRead.countDown();
+            assertThat(body.readLine()).isEqualTo("1,Дрель");
+            assertThat(body.readLine()).isNull();
+        }
+        assertThat(streamed).isTrue();
+        Headers request = requests.get("/items/export");
+        assertThat(request.getFirst(HttpHeaders.ACCEPT)).isEqualTo("*/*");
+        assertThat(request.getFirst("X-Sharer-User-Id")).isEqualTo("1");
+    }
+
+    private static String readBody(ResponseEntity<Object> response) throws IOException {
+        assertThat(response.getBody()).isInstanceOf(InputStreamResource.class);
+        try (InputStream body = ((InputStreamResource) response.getBody()).getInputStream()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, HttpStatus status, String body) throws IOException {
+        // zero length makes the server send the body chunked
+        exchange.sendResponseHeaders(status.value(), 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
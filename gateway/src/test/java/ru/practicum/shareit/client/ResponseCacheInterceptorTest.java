@@ -0,0 +1,155 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static ru.practicum.shareit.util.Const.SHARER_USER_ID;
+
+class ResponseCacheInterceptorTest {
+    private static final String ITEM_URL = "http://server/items/1";
+
+    private Cache<URI, ResponseCacheInterceptor.UserResponses> cache;
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        cache = Caffeine.newBuilder().build();
+        restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new ResponseCacheInterceptor(cache));
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void freshResponseServedFromCache() {
+        server.expect(requestTo(ITEM_URL))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON)
+                        .headers(cacheHeaders("\"v1\"", "max-age=60")));
+
+        assertThat(get(ITEM_URL, 1L)).isEqualTo("{\"id\":1}");
+        assertThat(get(ITEM_URL, 1L)).isEqualTo("{\"id\":1}");
+
+        server.verify();
+        assertThat(cache.estimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    void notModifiedServedFromCache() {
+        server.expect(requestTo(ITEM_URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON)
+                        .headers(cacheHeaders("\"v1\"", null)));
+        server.expect(requestTo(ITEM_URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(cacheHeaders("\"v1\"", null)));
+
+        assertThat(get(ITEM_URL, 1L)).isEqualTo("{\"id\":1}");
+        assertThat(get(ITEM_URL, 1L)).isEqualTo("{\"id\":1}");
+
+        server.verify();
+    }
+
+    @Test
+    void notStoredWithoutValidators() {
+        server.expect(requestTo(ITEM_URL)).andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(ITEM_URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        get(ITEM_URL, 1L);
+        get(ITEM_URL, 1L);
+
+        server.verify();
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    void modifyingRequestsInvalidateAllUsers() {
+        for (HttpMethod modifying : new HttpMethod[]{HttpMethod.POST, HttpMethod.PATCH, HttpMethod.DELETE}) {
+            server.reset();
+            server.expect(requestTo(ITEM_URL)).andRespond(withSuccess("{\"name\":\"old\"}", MediaType.APPLICATION_JSON)
+                    .headers(cacheHeaders("\"v1\"", "max-age=60")));
+            server.expect(requestTo(ITEM_URL)).andRespond(withSuccess("{\"name\":\"old\"}", MediaType.APPLICATION_JSON)
+                    .headers(cacheHeaders("\"v1\"", "max-age=60")));
+            server.expect(requestTo(ITEM_URL)).andExpect(method(modifying)).andRespond(withSuccess());
+            server.expect(requestTo(ITEM_URL))
+                    .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                    .andRespond(withSuccess("{\"name\":\"new\"}", MediaType.APPLICATION_JSON)
+                            .headers(cacheHeaders("\"v2\"", "max-age=60")));
+            server.expect(requestTo(ITEM_URL))
+                    .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                    .andRespond(withSuccess("{\"name\":\"new\"}", MediaType.APPLICATION_JSON)
+                            .headers(cacheHeaders("\"v2\"", "max-age=60")));
+
+            get(ITEM_URL, 1L);
+            get(ITEM_URL, 2L);
+            restTemplate.exchange(ITEM_URL, modifying, new HttpEntity<>(userHeaders(1L)), String.class);
+
+            assertThat(get(ITEM_URL, 1L)).isEqualTo("{\"name\":\"new\"}");
+            assertThat(get(ITEM_URL, 2L)).isEqualTo("{\"name\":\"new\"}");
+            server.verify();
+            cache.invalidateAll();
+        }
+    }
+
+    @Test
+    void responsesKeptPerUser() {
+        server.expect(requestTo(ITEM_URL))
+                .andExpect(header(SHARER_USER_ID, "1"))
+                .andRespond(withSuccess("{\"lastBooking\":null}", MediaType.APPLICATION_JSON)
+                        .headers(cacheHeaders("\"owner\"", "max-age=60")));
+        server.expect(requestTo(ITEM_URL))
+                .andExpect(header(SHARER_USER_ID, "2"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON)
+                        .headers(cacheHeaders("\"other\"", "max-age=60")));
+
+        assertThat(get(ITEM_URL, 1L)).isEqualTo("{\"lastBooking\":null}");
+        assertThat(get(ITEM_URL, 2L)).isEqualTo("{}");
+        assertThat(get(ITEM_URL, 1L)).isEqualTo("{\"lastBooking\":null}");
+        assertThat(get(ITEM_URL, 2L)).isEqualTo("{}");
+
+        server.verify();
+        assertThat(cache.estimatedSize()).isEqualTo(1);
+        assertThat(cache.getIfPresent(URI.create(ITEM_URL)).weight())
+                .isEqualTo("{\"lastBooking\":null}".length() + "{}".length());
+    }
+
+    private String get(String url, long userId) {
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(userHeaders(userId)), String.class)
+                .getBody();
+    }
+
+    private static HttpHeaders userHeaders(long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(SHARER_USER_ID, String.valueOf(userId));
+        return headers;
+    }
+
+    private static HttpHeaders cacheHeaders(String etag, String cacheControl) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        if (cacheControl != null) {
+            headers.setCacheControl(cacheControl);
+        }
+        return headers;
+    }
+}
@@ -10,7 +10,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -23,6 +25,8 @@ import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
 
+import static ru.practicum.shareit.util.Const.ID_ALLOCATION_SIZE;
+
 /**
  * Бронирование вещи {@link Item}
  */
@@ -40,7 +44,8 @@ public class Booking {
      * Уникальный идентификатор бронирования.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "booking_id")
     private Long id;
 
@@ -75,4 +80,11 @@ public class Booking {
      */
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
+
+    /**
+     * Версия записи для оптимистической блокировки.
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Допуск бронирований вещей: конкурирующие бронирования одной вещи выстраиваются в очередь и выполняются
+ * последовательно - от проверки пересечений до фиксации транзакции, а бронирования разных вещей идут
+ * параллельно.
+ */
+@Component
+public class BookingAdmission {
+    /**
+     * Хранилище бронирований.
+     */
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Настройки работы с бронированиями.
+     */
+    private final BookingProperties bookingProperties;
+
+    /**
+     * Блокировки, по которым распределяются вещи. Количество - степень двойки.
+     */
+    private final ReentrantLock[] stripes;
+
+    public BookingAdmission(BookingRepository bookingRepository, BookingProperties bookingProperties) {
+        this.bookingRepository = bookingRepository;
+        this.bookingProperties = bookingProperties;
+
+        int lockStripes = bookingProperties.getLockStripes();
+        int stripeCount = lockStripes <= 1 ? 1 : Integer.highestOneBit(lockStripes - 1) << 1;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+    }
+
+    /**
+     * Получение допуска к бронированию вещи. Блокировка удерживается до завершения текущей транзакции.
+     *
+     * @param itemId идентификатор бронируемой вещи.
+     */
+    public void admit(long itemId) {
+        switch (bookingProperties.getAdmissionLock()) {
+            case STRIPED -> lockUntilCompletion(stripeFor(itemId));
+            case ADVISORY -> bookingRepository.lockItemForBooking(itemId);
+            case NONE -> {
+                // конкурирующие бронирования не упорядочиваются
+            }
+        }
+    }
+
+    /**
+     * Получение допуска к бронированию сразу нескольких вещей. Блокировки берутся в порядке возрастания
+     * (номеров полос или идентификаторов вещей), так что пересекающиеся пакеты не блокируют друг друга навечно.
+     *
+     * @param itemIds идентификаторы бронируемых вещей.
+     */
+    public void admitAll(Collection<Long> itemIds) {
+        switch (bookingProperties.getAdmissionLock()) {
+            case STRIPED -> itemIds.stream()
+                    .map(this::stripeIndex)
+                    .distinct()
+                    .sorted()
+                    .forEach(index -> lockUntilCompletion(stripes[index]));
+            case ADVISORY -> itemIds.stream()
+                    .distinct()
+                    .sorted()
+                    .forEach(bookingRepository::lockItemForBooking);
+            case NONE -> {
+                // конкурирующие бронирования не упорядочиваются
+            }
+        }
+    }
+
+    /**
+     * Блокировка, на которую приходится вещь.
+     *
+     * @param itemId идентификатор вещи.
+     * @return Блокировка вещи.
+     */
+    ReentrantLock stripeFor(long itemId) {
+        return stripes[stripeIndex(itemId)];
+    }
+
+    private int stripeIndex(long itemId) {
+        int hash = Long.hashCode(itemId);
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    private void lockUntilCompletion(ReentrantLock lock) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Допуск к бронированию выдается только внутри транзакции");
+        }
+
+        lock.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
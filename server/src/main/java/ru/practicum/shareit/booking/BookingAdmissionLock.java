@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking;
+
+/**
+ * Способы упорядочивания конкурирующих бронирований одной вещи {@link BookingAdmission}.
+ */
+public enum BookingAdmissionLock {
+    /**
+     * Без блокировки: бронирования защищены только уровнем изоляции транзакций.
+     */
+    NONE,
+
+    /**
+     * Блокировки в памяти сервера, распределенные по вещам (lock striping).
+     */
+    STRIPED,
+
+    /**
+     * Транзакционные рекомендательные блокировки PostgreSQL по идентификатору вещи (pg_advisory_xact_lock).
+     */
+    ADVISORY
+}
@@ -1,8 +1,13 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,11 +18,18 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.replica.ReadRouting;
+import ru.practicum.shareit.util.ETags;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static ru.practicum.shareit.util.Const.DEFAULT_PAGE_SIZE;
 import static ru.practicum.shareit.util.Const.SHARER_USER_ID;
 
 /**
@@ -28,6 +40,11 @@ import static ru.practicum.shareit.util.Const.SHARER_USER_ID;
 @RequiredArgsConstructor
 @Slf4j
 public class BookingController {
+    /**
+     * Наибольшее количество броней в одном пакете (как в шлюзе).
+     */
+    static final int MAX_BATCH_SIZE = 100;
+
     /**
      * Сервис работы с бронированиями
      */
@@ -52,6 +69,24 @@ public class BookingController {
         return bookingDto;
     }
 
+    /**
+     * Метод пакетного бронирования вещей в одной транзакции.
+     *
+     * @param userId            идентификатор бронирующего пользователя;
+     * @param bookingCreateDtos атрибуты броней;
+     * @return Результаты по каждой брони пакета: созданная бронь или причина отказа.
+     */
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> addAll(@RequestHeader(SHARER_USER_ID) long userId,
+                                              @RequestBody @Size(min = 1, max = MAX_BATCH_SIZE)
+                                              List<@NotNull @Valid BookingCreateDto> bookingCreateDtos) {
+        log.info("==> addAll userId = {}, bookings count = {}", userId, bookingCreateDtos.size());
+        List<BookingBatchResultDto> results = bookingService.addAll(userId, bookingCreateDtos);
+        log.info("<== addAll results count = {}", results.size());
+
+        return results;
+    }
+
     /**
      * Метод подтверждения или отклонения брони.
      *
@@ -74,51 +109,98 @@ public class BookingController {
     /**
      * Метод получения данных по бронированию.
      *
-     * @param userId    идентификатор пользователя для получения данных;
-     * @param bookingId идентификатор брони для запроса;
-     * @return Данные по найденной брони.
+     * @param userId     идентификатор пользователя для получения данных;
+     * @param bookingId  идентификатор брони для запроса;
+     * @param webRequest текущий запрос для проверки If-None-Match;
+     * @return Данные по найденной брони или null, если у клиента актуальная копия (ответ 304).
      */
     @GetMapping("/{bookingId}")
     public BookingDto get(@RequestHeader(SHARER_USER_ID) long userId,
-                          @PathVariable long bookingId) {
+                          @PathVariable long bookingId,
+                          ServletWebRequest webRequest) {
         log.info("==> get userId = {}, bookingId = {}", userId, bookingId);
-        BookingDto bookingDto = bookingService.getById(userId, bookingId);
+        BookingDto bookingDto = bookingService.getById(userId, bookingId,
+                etag -> ETags.checkNotModified(webRequest, etag));
+        if (bookingDto == null) {
+            log.info("<== not modified");
+            return null;
+        }
         log.info("<== {}", bookingDto);
 
         return bookingDto;
     }
 
     /**
-     * Получение списка всех бронирований для текущего пользователя.
+     * Получение страницы бронирований для текущего пользователя.
      *
-     * @param userId идентификатор пользователя для получения данных;
-     * @param state  состояния бронирований для отбора;
+     * @param userId      идентификатор пользователя для получения данных;
+     * @param state       состояния бронирований для отбора;
+     * @param cursorStart дата начала последней брони предыдущей страницы;
+     * @param cursorId    идентификатор последней брони предыдущей страницы;
+     * @param size        размер страницы.
      * @return Данные по найденным бронированиям.
      */
     @GetMapping
     public List<BookingDto> getBookingsByBooker(@RequestHeader(SHARER_USER_ID) long userId,
-                                                @RequestParam(name = "state", defaultValue = "ALL") BookingState state) {
-        log.info("==> getBookingsByBooker userId = {}, state = {}", userId, state);
-        List<BookingDto> bookingsDto = bookingService.getBookingsByBooker(userId, state);
+                                                @RequestParam(name = "state", defaultValue = "ALL") BookingState state,
+                                                @RequestParam(name = "cursorStart", required = false)
+                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                LocalDateTime cursorStart,
+                                                @RequestParam(name = "cursorId", required = false) Long cursorId,
+                                                @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        log.info("==> getBookingsByBooker userId = {}, state = {}, cursorStart = {}, cursorId = {}, size = {}",
+                userId, state, cursorStart, cursorId, size);
+        List<BookingDto> bookingsDto = bookingService.getBookingsByBooker(userId, state, cursorStart, cursorId, size);
         log.info("<== {}", bookingsDto);
 
         return bookingsDto;
     }
 
     /**
-     * Получение списка всех бронирований по вещам текущего пользователя-владельца.
+     * Получение страницы бронирований по вещам текущего пользователя-владельца.
      *
-     * @param userId идентификатор пользователя для получения данных;
-     * @param state  состояния бронирований для отбора;
+     * @param userId      идентификатор пользователя для получения данных;
+     * @param state       состояния бронирований для отбора;
+     * @param cursorStart дата начала последней брони предыдущей страницы;
+     * @param cursorId    идентификатор последней брони предыдущей страницы;
+     * @param size        размер страницы.
      * @return Данные по найденным бронированиям.
      */
     @GetMapping("/owner")
     public List<BookingDto> getBookingsByOwner(@RequestHeader(SHARER_USER_ID) long userId,
-                                               @RequestParam(name = "state", defaultValue = "ALL") BookingState state) {
-        log.info("==> getBookingsByOwner userId = {}, state = {}", userId, state);
-        List<BookingDto> bookingsDto = bookingService.getBookingsByOwner(userId, state);
+                                               @RequestParam(name = "state", defaultValue = "ALL") BookingState state,
+                                               @RequestParam(name = "cursorStart", required = false)
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime cursorStart,
+                                               @RequestParam(name = "cursorId", required = false) Long cursorId,
+                                               @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        log.info("==> getBookingsByOwner userId = {}, state = {}, cursorStart = {}, cursorId = {}, size = {}",
+                userId, state, cursorStart, cursorId, size);
+        List<BookingDto> bookingsDto = bookingService.getBookingsByOwner(userId, state, cursorStart, cursorId, size);
         log.info("<== {}", bookingsDto);
 
         return bookingsDto;
     }
-}
\ No newline at end of file
+
+    /**
+     * Выгрузка всей истории бронирований по вещам текущего пользователя-владельца потоком NDJSON или CSV.
+     * Тело записывается в другом потоке, поэтому признак чтения с основной базы переносится в него.
+     *
+     * @param userId идентификатор пользователя-владельца;
+     * @param format формат выгрузки.
+     * @return Тело ответа, записываемое потоком.
+     */
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsByOwner(@RequestHeader(SHARER_USER_ID) long userId,
+                                                                       @RequestParam(name = "format",
+                                                                               defaultValue = "NDJSON")
+                                                                       BookingExportFormat format) {
+        log.info("==> exportBookingsByOwner userId = {}, format = {}", userId, format);
+        StreamingResponseBody body = ReadRouting.propagate(bookingService.exportBookingsByOwner(userId, format));
+        log.info("<== streaming {}", format.getMediaType());
+
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(body);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Формат выгрузки истории бронирований.
+ */
+@Getter
+public enum BookingExportFormat {
+    /**
+     * Одно бронирование в формате JSON на строку.
+     */
+    NDJSON(new MediaType(MediaType.APPLICATION_NDJSON, StandardCharsets.UTF_8)),
+
+    /**
+     * Строка заголовка с именами колонок и по одному бронированию на строку.
+     */
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+    /**
+     * Тип содержимого ответа.
+     */
+    private final MediaType mediaType;
+
+    BookingExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+}
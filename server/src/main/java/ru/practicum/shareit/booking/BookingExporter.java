@@ -0,0 +1,92 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Запись истории бронирований в поток ответа. Строки читаются курсором базы данных порциями
+ * по {@link BookingRepository#EXPORT_FETCH_SIZE} и сразу записываются, поэтому расход памяти
+ * не зависит от количества бронирований.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingExporter {
+    /**
+     * Заголовок выгрузки CSV.
+     */
+    private static final String CSV_HEADER = "id,start,end,status,itemId,itemName,bookerId,bookerName";
+
+    /**
+     * Хранилище бронирований.
+     */
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Преобразователь JSON.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Выгрузка бронирований вещей владельца от новых к старым. Курсор открыт, пока идет запись,
+     * поэтому метод выполняется в собственной транзакции только для чтения.
+     *
+     * @param ownerId идентификатор пользователя-владельца;
+     * @param format  формат выгрузки;
+     * @param out     поток ответа.
+     * @throws IOException ошибка записи в поток.
+     */
+    @Transactional(readOnly = true)
+    public void writeBookingsByOwner(long ownerId, BookingExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == BookingExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<BookingExportDto> rows = bookingRepository.streamBookingsByOwnerId(ownerId)) {
+            Iterator<BookingExportDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                BookingExportDto row = iterator.next();
+                writer.write(format == BookingExportFormat.CSV ? toCsv(row) : objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private static String toCsv(BookingExportDto row) {
+        return String.join(",", Objects.toString(row.getId()), csvDate(row.getStart()), csvDate(row.getEnd()),
+                Objects.toString(row.getStatus()), Objects.toString(row.getItemId()), csvValue(row.getItemName()),
+                Objects.toString(row.getBookerId()), csvValue(row.getBookerName()));
+    }
+
+    private static String csvDate(LocalDateTime value) {
+        return value == null ? "" : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value);
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
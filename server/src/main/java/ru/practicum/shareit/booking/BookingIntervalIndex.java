@@ -0,0 +1,282 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Индекс интервалов активных (не отклоненных, не отмененных и не завершившихся) бронирований по вещам.
+ * <p>
+ * Для каждой вещи хранится интервал каждой брони и их объединение - непересекающиеся интервалы, упорядоченные
+ * по дате начала, поэтому проверка пересечения выполняется за O(log n) без обращения к базе данных. Брони,
+ * сохраненные до включения индекса, могут пересекаться между собой: объединение их сливает, а интервалы броней
+ * остаются отдельными, так что освобождение брони находит ее интервал. Проверка и резервирование интервала
+ * выполняются под монитором вещи, так что конкурирующие бронирования одной вещи обрабатываются последовательно.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingIntervalIndex implements SmartInitializingSingleton {
+    /**
+     * Хранилище бронирований.
+     */
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Настройки работы с бронированиями.
+     */
+    private final BookingProperties bookingProperties;
+
+    /**
+     * Интервалы бронирований по идентификатору вещи.
+     */
+    private final Map<Long, ItemIntervals> intervalsByItem = new ConcurrentHashMap<>();
+
+    /**
+     * Заполнение индекса после создания всех бинов, до запуска веб-сервера: бронирования не принимаются,
+     * пока индекс пуст.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        warmUp();
+    }
+
+    /**
+     * Заполнение индекса активными бронированиями. Интервалы, уже зарезервированные в индексе, повторно
+     * не добавляются.
+     */
+    public void warmUp() {
+        if (bookingProperties.getOverlapCheck() != BookingOverlapCheck.INDEX) {
+            return;
+        }
+
+        Map<Long, List<BookingIntervalDto>> intervals = bookingRepository.findActiveIntervals(LocalDateTime.now())
+                .stream()
+                .collect(Collectors.groupingBy(BookingIntervalDto::getItemId));
+        int added = 0;
+        for (Map.Entry<Long, List<BookingIntervalDto>> entry : intervals.entrySet()) {
+            ItemIntervals itemIntervals = getItemIntervals(entry.getKey());
+            synchronized (itemIntervals) {
+                added += itemIntervals.addMissing(entry.getValue());
+            }
+        }
+        log.info("Booking interval index warmed up: {} intervals for {} items", added, intervalsByItem.size());
+    }
+
+    /**
+     * Попытка зарезервировать интервал бронирования вещи.
+     * Если резервирование выполняется в транзакции, при ее откате интервал освобождается.
+     *
+     * @param itemId идентификатор вещи;
+     * @param start  дата и время начала бронирования;
+     * @param end    дата и время конца бронирования.
+     * @return true, если интервал свободен и зарезервирован, false - если он пересекается с имеющимся.
+     */
+    public boolean tryReserve(long itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals itemIntervals = getItemIntervals(itemId);
+        synchronized (itemIntervals) {
+            itemIntervals.evictFinished(LocalDateTime.now());
+            if (itemIntervals.overlaps(start, end)) {
+                return false;
+            }
+            itemIntervals.add(start, end);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(itemId, start, end);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /**
+     * Освобождение интервала бронирования вещи после фиксации текущей транзакции
+     * (или сразу, если транзакции нет).
+     *
+     * @param itemId идентификатор вещи;
+     * @param start  дата и время начала бронирования;
+     * @param end    дата и время конца бронирования.
+     */
+    public void releaseAfterCommit(long itemId, LocalDateTime start, LocalDateTime end) {
+        runAfterCommit(() -> release(itemId, start, end));
+    }
+
+    /**
+     * Освобождение интервалов бронирований, которые удаляются в базе каскадно вместе с пользователем: брони
+     * пользователя и брони его вещей. Интервалы читаются до удаления, освобождаются после фиксации текущей
+     * транзакции (или сразу, если транзакции нет).
+     *
+     * @param userId идентификатор удаляемого пользователя.
+     */
+    public void releaseUserBookingsAfterCommit(long userId) {
+        if (bookingProperties.getOverlapCheck() != BookingOverlapCheck.INDEX) {
+            return;
+        }
+
+        Map<Long, List<BookingIntervalDto>> intervals = bookingRepository
+                .findActiveIntervalsByUserId(userId, LocalDateTime.now()).stream()
+                .collect(Collectors.groupingBy(BookingIntervalDto::getItemId));
+        if (!intervals.isEmpty()) {
+            runAfterCommit(() -> intervals.forEach(this::releaseAll));
+        }
+    }
+
+    /**
+     * Освобождение интервала бронирования вещи.
+     *
+     * @param itemId идентификатор вещи;
+     * @param start  дата и время начала бронирования;
+     * @param end    дата и время конца бронирования.
+     */
+    public void release(long itemId, LocalDateTime start, LocalDateTime end) {
+        releaseAll(itemId, List.of(new BookingIntervalDto(itemId, start, end)));
+    }
+
+    private void releaseAll(long itemId, List<BookingIntervalDto> intervals) {
+        ItemIntervals itemIntervals = intervalsByItem.get(itemId);
+        if (itemIntervals != null) {
+            synchronized (itemIntervals) {
+                itemIntervals.removeAll(intervals);
+            }
+        }
+    }
+
+    private ItemIntervals getItemIntervals(long itemId) {
+        return intervalsByItem.computeIfAbsent(itemId, id -> new ItemIntervals());
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Интервалы бронирований одной вещи. Используется под монитором экземпляра.
+     */
+    private static final class ItemIntervals {
+        /**
+         * Интервалы броней, по одному на бронь: дата начала -> даты конца броней с этой датой начала.
+         */
+        private final NavigableMap<LocalDateTime, List<LocalDateTime>> bookings = new TreeMap<>();
+
+        /**
+         * Объединение интервалов броней: дата начала -> дата конца, интервалы не пересекаются.
+         */
+        private final NavigableMap<LocalDateTime, LocalDateTime> merged = new TreeMap<>();
+
+        private void add(LocalDateTime start, LocalDateTime end) {
+            bookings.computeIfAbsent(start, s -> new ArrayList<>(1)).add(end);
+            merge(start, end);
+        }
+
+        /**
+         * Добавление интервалов броней, которых еще нет в индексе: каждый интервал индекса соответствует
+         * не более чем одному из переданных, так что одинаковые интервалы разных броней добавляются
+         * столько раз, сколько их не хватает.
+         *
+         * @return Количество добавленных интервалов.
+         */
+        private int addMissing(List<BookingIntervalDto> intervals) {
+            Map<LocalDateTime, List<LocalDateTime>> unmatched = new HashMap<>();
+            int added = 0;
+            for (BookingIntervalDto interval : intervals) {
+                List<LocalDateTime> ends = unmatched.computeIfAbsent(interval.getStart(),
+                        s -> new ArrayList<>(bookings.getOrDefault(s, List.of())));
+                if (!ends.remove(interval.getEnd())) {
+                    add(interval.getStart(), interval.getEnd());
+                    added++;
+                }
+            }
+            return added;
+        }
+
+        /**
+         * Удаление интервалов броней (по одному на каждый переданный интервал) и пересчет объединения.
+         */
+        private void removeAll(List<BookingIntervalDto> intervals) {
+            boolean removed = false;
+            for (BookingIntervalDto interval : intervals) {
+                List<LocalDateTime> ends = bookings.get(interval.getStart());
+                if (ends != null && ends.remove(interval.getEnd())) {
+                    removed = true;
+                    if (ends.isEmpty()) {
+                        bookings.remove(interval.getStart());
+                    }
+                }
+            }
+            if (removed) {
+                merged.clear();
+                bookings.forEach((start, ends) -> ends.forEach(end -> merge(start, end)));
+            }
+        }
+
+        /**
+         * Проверка пересечения интервала с бронями вещи. Интервалы объединения не пересекаются между собой,
+         * поэтому достаточно проверить интервал с наибольшей датой начала, предшествующей концу проверяемого.
+         */
+        private boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> candidate = merged.lowerEntry(end);
+            return candidate != null && candidate.getValue().isAfter(start);
+        }
+
+        /**
+         * Добавление интервала в объединение со слиянием пересекающихся с ним.
+         */
+        private void merge(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> candidate = merged.lowerEntry(end);
+            while (candidate != null && candidate.getValue().isAfter(start)) {
+                merged.remove(candidate.getKey());
+                if (candidate.getKey().isBefore(start)) {
+                    start = candidate.getKey();
+                }
+                if (candidate.getValue().isAfter(end)) {
+                    end = candidate.getValue();
+                }
+                candidate = merged.lowerEntry(end);
+            }
+            merged.put(start, end);
+        }
+
+        /**
+         * Удаление завершившихся интервалов: даты окончания интервалов объединения растут вместе с датами
+         * начала, поэтому завершившиеся находятся в начале. Брони завершившегося интервала объединения
+         * начинаются внутри него и тоже завершились.
+         */
+        private void evictFinished(LocalDateTime now) {
+            Map.Entry<LocalDateTime, LocalDateTime> first = merged.firstEntry();
+            while (first != null && !first.getValue().isAfter(now)) {
+                merged.pollFirstEntry();
+                bookings.subMap(first.getKey(), true, first.getValue(), false).clear();
+                first = merged.firstEntry();
+            }
+        }
+    }
+}
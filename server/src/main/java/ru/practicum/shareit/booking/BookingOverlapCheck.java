@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking;
+
+/**
+ * Способы проверки пересечения добавляемой брони с уже имеющимися бронированиями вещи.
+ */
+public enum BookingOverlapCheck {
+    /**
+     * Подсчет пересекающихся бронирований запросом к базе данных.
+     */
+    DATABASE,
+
+    /**
+     * Проверка по индексу интервалов активных бронирований в памяти сервера {@link BookingIntervalIndex}.
+     */
+    INDEX,
+
+    /**
+     * Без предварительной проверки: пересечение отсекает ограничение {@code ex_bookings_item_period}
+     * (EXCLUDE USING gist) при вставке брони. Только для PostgreSQL.
+     */
+    CONSTRAINT
+}
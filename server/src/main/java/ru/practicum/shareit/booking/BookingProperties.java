@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки работы с бронированиями (префикс {@code shareit.booking}).
+ */
+@ConfigurationProperties(prefix = "shareit.booking")
+@Getter
+@Setter
+public class BookingProperties {
+    /**
+     * Способ проверки пересечения бронирований.
+     */
+    private BookingOverlapCheck overlapCheck = BookingOverlapCheck.DATABASE;
+
+    /**
+     * Способ упорядочивания конкурирующих бронирований одной вещи.
+     */
+    private BookingAdmissionLock admissionLock = BookingAdmissionLock.STRIPED;
+
+    /**
+     * Количество блокировок для режима {@link BookingAdmissionLock#STRIPED} (округляется вверх до степени двойки).
+     */
+    private int lockStripes = 256;
+}
@@ -1,14 +1,40 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingExportDto;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+import ru.practicum.shareit.booking.dto.ItemBookingDatesDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    /**
+     * Количество строк, получаемых курсором выгрузки за одно обращение к базе данных.
+     */
+    String EXPORT_FETCH_SIZE = "500";
+
+    /**
+     * Условие отбора броней, следующих за курсором страницы. Граница по дате начала задает диапазон поиска
+     * по индексам броней с датой начала, так что страница читается с места курсора, а не с первой брони.
+     * Первая страница запрашивается отдельным запросом без курсора.
+     */
+    String BEFORE_BOOKING_CURSOR = "and b.start <= :cursorStart " +
+            "and (b.start < :cursorStart or b.id < :cursorId) ";
+
+    /**
+     * Порядок броней в страницах: по убыванию даты начала и идентификатора.
+     */
+    String BOOKING_PAGE_ORDER = "order by b.start desc, b.id desc";
 
     @Query(value = "select count(b) " +
             "from Booking b " +
@@ -20,6 +46,33 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                        @Param("start") LocalDateTime start,
                        @Param("end") LocalDateTime end);
 
+    @Query(value = "select new ru.practicum.shareit.booking.dto.BookingIntervalDto(b.item.id, b.start, b.end) " +
+            "from Booking b " +
+            "where b.end > :onTime " +
+            "and b.status not in (REJECTED, CANCELED)")
+    List<BookingIntervalDto> findActiveIntervals(@Param("onTime") LocalDateTime onTime);
+
+    @Query(value = "select new ru.practicum.shareit.booking.dto.BookingIntervalDto(b.item.id, b.start, b.end) " +
+            "from Booking b " +
+            "where (b.booker.id = :userId or b.item.owner.id = :userId) " +
+            "and b.end > :onTime " +
+            "and b.status not in (REJECTED, CANCELED)")
+    List<BookingIntervalDto> findActiveIntervalsByUserId(@Param("userId") long userId,
+                                                         @Param("onTime") LocalDateTime onTime);
+
+    @Query(value = "select new ru.practicum.shareit.booking.dto.BookingIntervalDto(b.item.id, b.start, b.end) " +
+            "from Booking b " +
+            "where b.item.id in :itemIds " +
+            "and b.start < :end " +
+            "and b.end > :start " +
+            "and b.status not in (REJECTED, CANCELED)")
+    List<BookingIntervalDto> findCrossingIntervals(@Param("itemIds") Collection<Long> itemIds,
+                                                   @Param("start") LocalDateTime start,
+                                                   @Param("end") LocalDateTime end);
+
+    @Query(value = "select 1 from pg_advisory_xact_lock(:itemId)", nativeQuery = true)
+    Integer lockItemForBooking(@Param("itemId") long itemId);
+
     @Query(value = "select i.owner.id " +
             "from Booking b " +
             "join b.item i " +
@@ -36,24 +89,60 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "join fetch b.item i " +
             "join fetch b.booker bo " +
             "where bo.id = :bookerId " +
-            "order by b.start desc")
-    List<Booking> findAllBookingsByBookerId(@Param("bookerId") long bookerId);
+            BOOKING_PAGE_ORDER)
+    List<Booking> findAllBookingsByBookerId(@Param("bookerId") long bookerId, Limit limit);
+
+    @Query(value = "select b from Booking b " +
+            "join fetch b.item i " +
+            "join fetch b.booker bo " +
+            "where bo.id = :bookerId " +
+            BEFORE_BOOKING_CURSOR +
+            BOOKING_PAGE_ORDER)
+    List<Booking> findAllBookingsByBookerIdBefore(@Param("bookerId") long bookerId,
+                                                  @Param("cursorStart") LocalDateTime cursorStart,
+                                                  @Param("cursorId") Long cursorId, Limit limit);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.item i " +
             "join fetch b.booker bo " +
             "where bo.id = :bookerId " +
             "and :onTime between b.start and b.end " +
-            "order by b.start desc")
-    List<Booking> findCurrentBookingsByBookerId(@Param("bookerId") long bookerId, @Param("onTime") LocalDateTime onTime);
+            BOOKING_PAGE_ORDER)
+    List<Booking> findCurrentBookingsByBookerId(@Param("bookerId") long bookerId, @Param("onTime") LocalDateTime onTime,
+                                                Limit limit);
+
+    @Query(value = "select b from Booking b " +
+            "join fetch b.item i " +
+            "join fetch b.booker bo " +
+            "where bo.id = :bookerId " +
+            "and :onTime between b.start and b.end " +
+            BEFORE_BOOKING_CURSOR +
+            BOOKING_PAGE_ORDER)
+    List<Booking> findCurrentBookingsByBookerIdBefore(@Param("bookerId") long bookerId,
+                                                      @Param("onTime") LocalDateTime onTime,
+                                                      @Param("cursorStart") LocalDateTime cursorStart,
+                                                      @Param("cursorId") Long cursorId, Limit limit);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.item i " +
             "join fetch b.booker bo " +
             "where bo.id = :bookerId " +
             "and b.end < :onTime " +
-            "order by b.start desc")
-    List<Booking> findPastBookingsByBookerId(@Param("bookerId") long bookerId, @Param("onTime") LocalDateTime onTime);
+            BOOKING_PAGE_ORDER)
+    List<Booking> findPastBookingsByBookerId(@Param("bookerId") long bookerId, @Param("onTime") LocalDateTime onTime,
+                                             Limit limit);
+
+    @Query(value = "select b from Booking b " +
+            "join fetch b.item i " +
+            "join fetch b.booker bo " +
+            "where bo.id = :bookerId " +
+            "and b.end < :onTime " +
+            BEFORE_BOOKING_CURSOR +
+            BOOKING_PAGE_ORDER)
+    List<Booking> findPastBookingsByBookerIdBefore(@Param("bookerId") long bookerId,
+                                                   @Param("onTime") LocalDateTime onTime,
+                                                   @Param("cursorStart") LocalDateTime cursorStart,
+                                                   @Param("cursorId") Long cursorId, Limit limit);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.item i " +
@@ -71,77 +160,159 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "join fetch b.booker bo " +
             "where bo.id = :bookerId " +
             "and b.start > :onTime " +
-            "order by b.start desc")
-    List<Booking> findFutureBookingsByBookerId(@Param("bookerId") long bookerId, @Param("onTime") LocalDateTime onTime);
+            BOOKING_PAGE_ORDER)
+    List<Booking> findFutureBookingsByBookerId(@Param("bookerId") long bookerId, @Param("onTime") LocalDateTime onTime,
+                                               Limit limit);
+
+    @Query(value = "select b from Booking b " +
+            "join fetch b.item i " +
+            "join fetch b.booker bo " +
+            "where bo.id = :bookerId " +
+            "and b.start > :onTime " +
+            BEFORE_BOOKING_CURSOR +
+            BOOKING_PAGE_ORDER)
+    List<Booking> findFutureBookingsByBookerIdBefore(@Param("bookerId") long bookerId,
+                                                     @Param("onTime") LocalDateTime onTime,
+                                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                                     @Param("cursorId") Long cursorId, Limit limit);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.item i " +
             "join fetch b.booker bo " +
             "where bo.id = :bookerId " +
             "and b.status in :statusList " +
-            "order by b.start desc")
+            BOOKING_PAGE_ORDER)
     List<Booking> findBookingsByBookerIdAndStatus(@Param("bookerId") long bookerId,
-                                                  @Param("statusList") List<BookingStatus> statusList);
+                                                  @Param("statusList") List<BookingStatus> statusList, Limit limit);
+
+    @Query(value = "select b from Booking b " +
+            "join fetch b.item i " +
+            "join fetch b.booker bo " +
+            "where bo.id = :bookerId " +
+            "and b.status in :statusList " +
+            BEFORE_BOOKING_CURSOR +
+            BOOKING_PAGE_ORDER)
+    List<Booking> findBookingsByBookerIdAndStatusBefore(@Param("bookerId") long bookerId,
+                                                        @Param("statusList") List<BookingStatus> statusList,
+                                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                                        @Param("cursorId") Long cursorId, Limit limit);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.item i " +
             "join fetch b.booker bo " +
             "where i.owner.id = :ownerId " +
-            "order by b.start desc")
-    List<Booking> findAllBookingsByOwnerId(@Param("ownerId") long ownerId);
+            BOOKING_PAGE_ORDER)
+    List<Booking> findAllBookingsByOwnerId(@Param("ownerId") long ownerId, Limit limit);
+
+    @Query(value = "select b from Booking b " +
+            "join fetch b.item i " +
+            "join fetch b.booker bo " +
+            "where i.owner.id = :ownerId " +
+            BEFORE_BOOKING_CURSOR +
+            BOOKING_PAGE_ORDER)
+    List<Booking> findAllBookingsByOwnerIdBefore(@Param("ownerId") long ownerId,
+                                                 @Param("cursorStart") LocalDateTime cursorStart,
+                                                 @Param("cursorId") Long cursorId, Limit limit);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.item i " +
             "join fetch b.booker bo " +
             "where i.owner.id = :ownerId " +
             "and :onTime between b.start and b.end " +
-            "order by b.start desc")
-    List<Booking> findCurrentBookingsByOwnerId(@Param("ownerId") long ownerId, @Param("onTime") LocalDateTime onTime);
+            BOOKING_PAGE_ORDER)
+    List<Booking> findCurrentBookingsByOwnerId(@Param("ownerId") long ownerId, @Param("onTime") LocalDateTime onTime,
+                                               Limit limit);
+
+    @Query(value = "select b from Booking b " +
+            "join fetch b.item i " +
+            "join fetch b.booker bo " +
+            "where i.owner.id = :ownerId " +
+            "and :onTime between b.start and b.end " +
+            BEFORE_BOOKING_CURSOR +
+            BOOKING_PAGE_ORDER)
+    List<Booking> findCurrentBookingsByOwnerIdBefore(@Param("ownerId") long ownerId,
+                                                     @Param("onTime") LocalDateTime onTime,
+                                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                                     @Param("cursorId") Long cursorId, Limit limit);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.item i " +
             "join fetch b.booker bo " +
             "where i.owner.id = :ownerId " +
             "and b.end < :onTime " +
-            "order by b.start desc")
-    List<Booking> findPastBookingsByOwnerId(@Param("ownerId") long ownerId, @Param("onTime") LocalDateTime onTime);
+            BOOKING_PAGE_ORDER)
+    List<Booking> findPastBookingsByOwnerId(@Param("ownerId") long ownerId, @Param("onTime") LocalDateTime onTime,
+                                            Limit limit);
+
+    @Query(value = "select b from Booking b " +
+            "join fetch b.item i " +
+            "join fetch b.booker bo " +
+            "where i.owner.id = :ownerId " +
+            "and b.end < :onTime " +
+            BEFORE_BOOKING_CURSOR +
+            BOOKING_PAGE_ORDER)
+    List<Booking> findPastBookingsByOwnerIdBefore(@Param("ownerId") long ownerId, @Param("onTime") LocalDateTime onTime,
+                                                  @Param("cursorStart") LocalDateTime cursorStart,
+                                                  @Param("cursorId") Long cursorId, Limit limit);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.item i " +
             "join fetch b.booker bo " +
             "where i.owner.id = :ownerId " +
             "and b.start > :onTime " +
-            "order by b.start desc")
-    List<Booking> findFutureBookingsByOwnerId(@Param("ownerId") long ownerId, @Param("onTime") LocalDateTime onTime);
+            BOOKING_PAGE_ORDER)
+    List<Booking> findFutureBookingsByOwnerId(@Param("ownerId") long ownerId, @Param("onTime") LocalDateTime onTime,
+                                              Limit limit);
+
+    @Query(value = "select b from Booking b " +
+            "join fetch b.item i " +
+            "join fetch b.booker bo " +
+            "where i.owner.id = :ownerId " +
+            "and b.start > :onTime " +
+            BEFORE_BOOKING_CURSOR +
+            BOOKING_PAGE_ORDER)
+    List<Booking> findFutureBookingsByOwnerIdBefore(@Param("ownerId") long ownerId,
+                                                    @Param("onTime") LocalDateTime onTime,
+                                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                                    @Param("cursorId") Long cursorId, Limit limit);
 
     @Query(value = "select b from Booking b " +
             "join fetch b.item i " +
             "join fetch b.booker bo " +
             "where i.owner.id = :ownerId " +
             "and b.status in :statusList " +
-            "order by b.start desc")
+            BOOKING_PAGE_ORDER)
     List<Booking> findBookingsByOwnerIdAndStatus(@Param("ownerId") long ownerId,
-                                                 @Param("statusList") List<BookingStatus> statusList);
+                                                 @Param("statusList") List<BookingStatus> statusList, Limit limit);
 
-    @Query(value = "select b " +
+    @Query(value = "select b from Booking b " +
+            "join fetch b.item i " +
+            "join fetch b.booker bo " +
+            "where i.owner.id = :ownerId " +
+            "and b.status in :statusList " +
+            BEFORE_BOOKING_CURSOR +
+            BOOKING_PAGE_ORDER)
+    List<Booking> findBookingsByOwnerIdAndStatusBefore(@Param("ownerId") long ownerId,
+                                                       @Param("statusList") List<BookingStatus> statusList,
+                                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                                       @Param("cursorId") Long cursorId, Limit limit);
+
+    @Query(value = "select new ru.practicum.shareit.booking.dto.ItemBookingDatesDto(b.item.id, " +
+            "  max(case when b.start < :onTime then b.start end), " +
+            "  min(case when b.start > :onTime then b.start end)) " +
             "from Booking b " +
-            "join b.item i " +
-            "where i.id in :itemIds " +
-            "and b.start < :onTime " +
-            "and b.start = (select max(b1.start) " +
-            "  from Booking b1 " +
-            "  where b1.item.id = b.item.id " +
-            "  and b1.start < :onTime)")
-    List<Booking> lastBookingsByItemIds(@Param("itemIds") List<Long> itemIds, @Param("onTime") LocalDateTime onTime);
-
-    @Query(value = "select b " +
+            "where b.item.id in :itemIds " +
+            "group by b.item.id")
+    List<ItemBookingDatesDto> bookingDatesByItemIds(@Param("itemIds") List<Long> itemIds,
+                                                    @Param("onTime") LocalDateTime onTime);
+
+    @Query(value = "select new ru.practicum.shareit.booking.dto.BookingExportDto(b.id, b.start, b.end, b.status, " +
+            "  i.id, i.name, bo.id, bo.name) " +
             "from Booking b " +
             "join b.item i " +
-            "where i.id in :itemIds " +
-            "and b.start > :onTime " +
-            "and b.start = (select min(b1.start) " +
-            "  from Booking b1 " +
-            "  where b1.item.id = b.item.id " +
-            "  and b1.start > :onTime)")
-    List<Booking> nearestBookingsByItemIds(@Param("itemIds") List<Long> itemIds, @Param("onTime") LocalDateTime onTime);
+            "join b.booker bo " +
+            "where i.owner.id = :ownerId " +
+            "order by b.start desc, b.id desc")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    Stream<BookingExportDto> streamBookingsByOwnerId(@Param("ownerId") long ownerId);
 }
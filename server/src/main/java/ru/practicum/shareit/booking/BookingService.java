@@ -1,18 +1,30 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Predicate;
 
 public interface BookingService {
     BookingDto add(BookingCreateDto bookingCreateDto);
 
+    List<BookingBatchResultDto> addAll(long userId, List<BookingCreateDto> bookingCreateDtos);
+
     BookingDto approve(long userId, long bookingId, Boolean approved);
 
     BookingDto getById(long userId, long bookingId);
 
-    List<BookingDto> getBookingsByBooker(long bookerId, BookingState state);
+    BookingDto getById(long userId, long bookingId, Predicate<String> notModified);
+
+    List<BookingDto> getBookingsByBooker(long bookerId, BookingState state, LocalDateTime cursorStart, Long cursorId,
+                                         int size);
+
+    List<BookingDto> getBookingsByOwner(long ownerId, BookingState state, LocalDateTime cursorStart, Long cursorId,
+                                        int size);
 
-    List<BookingDto> getBookingsByOwner(long ownerId, BookingState state);
+    StreamingResponseBody exportBookingsByOwner(long ownerId, BookingExportFormat format);
 }
@@ -1,10 +1,17 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -12,10 +19,24 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.ETags;
+import ru.practicum.shareit.util.Paging;
+import ru.practicum.shareit.util.RetryOnConflict;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Сервис работы с бронированиями вещей.
@@ -24,6 +45,16 @@ import java.util.List;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
+    /**
+     * SQLSTATE нарушения ограничения-исключения (EXCLUDE) в PostgreSQL.
+     */
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    /**
+     * Сообщение о пересечении добавляемой брони с уже имеющимися.
+     */
+    private static final String CROSSING_MESSAGE =
+            "Добавляемая бронь не может пересекаться с уже имеющимися бронированиями";
 
     /**
      * Хранилище вещей.
@@ -35,6 +66,11 @@ public class BookingServiceImpl implements BookingService {
      */
     private final UserRepository userRepository;
 
+    /**
+     * Кэш проверки существования пользователей.
+     */
+    private final UserExistenceCache userExistenceCache;
+
     /**
      * Хранилище бронирований.
      */
@@ -45,6 +81,26 @@ public class BookingServiceImpl implements BookingService {
      */
     private final BookingMapperImpl bookingMapper;
 
+    /**
+     * Индекс интервалов активных бронирований.
+     */
+    private final BookingIntervalIndex bookingIntervalIndex;
+
+    /**
+     * Настройки работы с бронированиями.
+     */
+    private final BookingProperties bookingProperties;
+
+    /**
+     * Допуск бронирований вещей.
+     */
+    private final BookingAdmission bookingAdmission;
+
+    /**
+     * Выгрузка истории бронирований.
+     */
+    private final BookingExporter bookingExporter;
+
     /**
      * Метод бронирования вещи
      *
@@ -54,12 +110,8 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public BookingDto add(BookingCreateDto bookingCreateDto) {
-        long crossingCount = bookingRepository.crossingCount(bookingCreateDto.getItemId(),
-                bookingCreateDto.getStart(),
-                bookingCreateDto.getEnd());
-        if (crossingCount > 0) {
-            throw new ConflictException("Добавляемая бронь не может пересекаться с уже имеющимися бронированиями");
-        }
+        bookingAdmission.admit(bookingCreateDto.getItemId());
+        checkCrossing(bookingCreateDto);
 
         User booker = checkUserId(bookingCreateDto.getUserId());
 
@@ -73,12 +125,89 @@ public class BookingServiceImpl implements BookingService {
 
         Booking booking = bookingMapper.toBookingOnCreate(bookingCreateDto, item, booker);
         booking.setStatus(BookingStatus.WAITING);
-        long id = bookingRepository.save(booking).getId();
+        long id;
+        try {
+            id = bookingRepository.saveAndFlush(booking).getId();
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new ConflictException(CROSSING_MESSAGE);
+            }
+            throw e;
+        }
         booking.setId(id);
 
         return bookingMapper.toBookingDto(booking);
     }
 
+    /**
+     * Метод пакетного бронирования вещей в одной транзакции. Допуск берется сразу на все вещи пакета,
+     * пересечения проверяются одним запросом на весь пакет (с учетом броней самого пакета), принятые брони
+     * вставляются пакетом.
+     * <p>
+     * Если вставку отсекло ограничение {@code ex_bookings_item_period} (пересекающуюся бронь зафиксировал
+     * конкурирующий запрос после проверки), пакет повторяется в новой транзакции: повторная проверка находит
+     * эту бронь, и отказ получает только пересекающаяся с ней бронь пакета. Продолжить текущую транзакцию
+     * с точки сохранения нельзя - после ошибки сброса JPA помечает ее только для отката.
+     *
+     * @param userId            идентификатор бронирующего пользователя;
+     * @param bookingCreateDtos атрибуты броней.
+     * @return Результаты по каждой брони пакета в исходном порядке.
+     */
+    @Override
+    @Transactional
+    @RetryOnConflict
+    public List<BookingBatchResultDto> addAll(long userId, List<BookingCreateDto> bookingCreateDtos) {
+        User booker = checkUserId(userId);
+        Set<Long> itemIds = bookingCreateDtos.stream()
+                .map(BookingCreateDto::getItemId)
+                .collect(Collectors.toSet());
+        bookingAdmission.admitAll(itemIds);
+
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<BookingIntervalDto>> takenIntervals = findTakenIntervals(bookingCreateDtos, itemIds);
+
+        List<Booking> bookings = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (BookingCreateDto bookingCreateDto : bookingCreateDtos) {
+            Item item = items.get(bookingCreateDto.getItemId());
+            String error = null;
+            if (item == null) {
+                error = "Вещь itemId = " + bookingCreateDto.getItemId() + " не найдена";
+            } else if (!item.getAvailable()) {
+                error = "Вещь itemId = " + bookingCreateDto.getItemId() + " недоступна для бронирования";
+            } else if (!tryReserve(takenIntervals, bookingCreateDto)) {
+                error = CROSSING_MESSAGE;
+            }
+
+            Booking booking = null;
+            if (error == null) {
+                booking = bookingMapper.toBookingOnCreate(bookingCreateDto, item, booker);
+                booking.setStatus(BookingStatus.WAITING);
+            }
+            bookings.add(booking);
+            errors.add(error);
+        }
+
+        try {
+            bookingRepository.saveAllAndFlush(bookings.stream().filter(Objects::nonNull).toList());
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new OptimisticLockingFailureException(CROSSING_MESSAGE, e);
+            }
+            throw e;
+        }
+
+        List<BookingBatchResultDto> results = new ArrayList<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            results.add(new BookingBatchResultDto(i,
+                    bookings.get(i) != null ? bookingMapper.toBookingDto(bookings.get(i)) : null,
+                    errors.get(i)));
+        }
+
+        return results;
+    }
+
     /**
      * Метод подтверждения или отклонения брони.
      *
@@ -89,6 +218,7 @@ public class BookingServiceImpl implements BookingService {
      */
     @Override
     @Transactional
+    @RetryOnConflict
     public BookingDto approve(long ownerId, long bookingId, Boolean approved) {
         checkUserId(ownerId);
         Booking booking = checkBookingId(bookingId);
@@ -102,6 +232,10 @@ public class BookingServiceImpl implements BookingService {
                 booking.setStatus(BookingStatus.APPROVED);
             } else {
                 booking.setStatus(BookingStatus.REJECTED);
+                if (bookingProperties.getOverlapCheck() == BookingOverlapCheck.INDEX) {
+                    bookingIntervalIndex.releaseAfterCommit(booking.getItem().getId(), booking.getStart(),
+                            booking.getEnd());
+                }
             }
             bookingRepository.save(booking);
         }
@@ -117,93 +251,281 @@ public class BookingServiceImpl implements BookingService {
      * @return Данные по найденной брони.
      */
     public BookingDto getById(long userId, long bookingId) {
-        checkUserId(userId);
-        Booking booking = checkBookingId(bookingId);
+        return getById(userId, bookingId, etag -> false);
+    }
 
-        if (!bookingRepository.getItemOwnerId(bookingId).equals(userId)
-                && !booking.getBooker().getId().equals(userId)) {
-            throw new ValidationException("Пользователь не является ни владельцем вещи, ни автором брони. " +
-                    "Получение данных о бронировании запрещено.");
-        }
+    /**
+     * Метод получения данных по бронированию с проверкой ETag: бронь загружается один раз,
+     * из нее строятся и ETag, и ответ.
+     *
+     * @param userId      идентификатор пользователя для получения данных;
+     * @param bookingId   идентификатор брони для запроса;
+     * @param notModified проверка ETag: {@code true}, если у клиента актуальная версия данных;
+     * @return Данные по найденной брони или {@code null}, если данные не изменились.
+     */
+    @Override
+    public BookingDto getById(long userId, long bookingId, Predicate<String> notModified) {
+        Booking booking = checkBookingAccess(userId, bookingId);
+        Item item = booking.getItem();
+        User booker = booking.getBooker();
+        String etag = ETags.of(booking.getId(), booking.getVersion(), item.getId(), item.getVersion(),
+                booker.getId(), booker.getVersion());
 
-        return bookingMapper.toBookingDto(booking);
+        return notModified.test(etag) ? null : bookingMapper.toBookingDto(booking);
     }
 
     /**
-     * Получение списка всех бронирований для текущего пользователя.
+     * Получение страницы бронирований для текущего пользователя.
+     * Бронирования упорядочены по убыванию даты начала и идентификатора; следующая страница
+     * запрашивается по ключу последней полученной брони (курсору).
      *
-     * @param bookerId идентификатор пользователя для получения данных;
-     * @param state    состояния бронирований для отбора;
+     * @param bookerId    идентификатор пользователя для получения данных;
+     * @param state       состояния бронирований для отбора;
+     * @param cursorStart дата начала последней брони предыдущей страницы (null для первой страницы);
+     * @param cursorId    идентификатор последней брони предыдущей страницы;
+     * @param size        размер страницы.
      * @return Данные по найденным бронированиям.
      */
-    public List<BookingDto> getBookingsByBooker(long bookerId, BookingState state) {
+    public List<BookingDto> getBookingsByBooker(long bookerId, BookingState state, LocalDateTime cursorStart,
+                                                Long cursorId, int size) {
         checkUserId(bookerId);
+        Paging.checkSize(size);
 
+        Limit limit = Limit.of(size);
+        LocalDateTime now = LocalDateTime.now();
+        boolean firstPage = cursorStart == null;
         if (state != null) {
             if (state.equals(BookingState.ALL)) {
-                return bookingMapper.toBookingDtoList(bookingRepository.findAllBookingsByBookerId(bookerId));
+                return bookingMapper.toBookingDtoList(firstPage
+                        ? bookingRepository.findAllBookingsByBookerId(bookerId, limit)
+                        : bookingRepository.findAllBookingsByBookerIdBefore(bookerId, cursorStart, cursorId, limit));
             } else if (state.equals(BookingState.CURRENT)) {
-                return bookingMapper.toBookingDtoList(bookingRepository.findCurrentBookingsByBookerId(bookerId,
-                        LocalDateTime.now()));
+                return bookingMapper.toBookingDtoList(firstPage
+                        ? bookingRepository.findCurrentBookingsByBookerId(bookerId, now, limit)
+                        : bookingRepository.findCurrentBookingsByBookerIdBefore(bookerId, now, cursorStart,
+                                cursorId, limit));
             } else if (state.equals(BookingState.PAST)) {
-                return bookingMapper.toBookingDtoList(bookingRepository.findPastBookingsByBookerId(bookerId,
-                        LocalDateTime.now()));
+                return bookingMapper.toBookingDtoList(firstPage
+                        ? bookingRepository.findPastBookingsByBookerId(bookerId, now, limit)
+                        : bookingRepository.findPastBookingsByBookerIdBefore(bookerId, now, cursorStart,
+                                cursorId, limit));
             } else if (state.equals(BookingState.FUTURE)) {
-                return bookingMapper.toBookingDtoList(bookingRepository.findFutureBookingsByBookerId(bookerId,
-                        LocalDateTime.now()));
+                return bookingMapper.toBookingDtoList(firstPage
+                        ? bookingRepository.findFutureBookingsByBookerId(bookerId, now, limit)
+                        : bookingRepository.findFutureBookingsByBookerIdBefore(bookerId, now, cursorStart,
+                                cursorId, limit));
             } else if (state.equals(BookingState.WAITING)) {
-                return bookingMapper.toBookingDtoList(bookingRepository.findBookingsByBookerIdAndStatus(bookerId,
-                        List.of(BookingStatus.WAITING)));
+                return bookingMapper.toBookingDtoList(firstPage
+                        ? bookingRepository.findBookingsByBookerIdAndStatus(bookerId,
+                                List.of(BookingStatus.WAITING), limit)
+                        : bookingRepository.findBookingsByBookerIdAndStatusBefore(bookerId,
+                                List.of(BookingStatus.WAITING), cursorStart, cursorId, limit));
             } else if (state.equals(BookingState.REJECTED)) {
-                return bookingMapper.toBookingDtoList(bookingRepository.findBookingsByBookerIdAndStatus(bookerId,
-                        List.of(BookingStatus.REJECTED)));
+                return bookingMapper.toBookingDtoList(firstPage
+                        ? bookingRepository.findBookingsByBookerIdAndStatus(bookerId,
+                                List.of(BookingStatus.REJECTED), limit)
+                        : bookingRepository.findBookingsByBookerIdAndStatusBefore(bookerId,
+                                List.of(BookingStatus.REJECTED), cursorStart, cursorId, limit));
             }
         }
         throw new ValidationException("Указано неверное состояние для отбора бронирований.");
     }
 
     /**
-     * Получение списка всех бронирований по вещам текущего пользователя-владельца.
+     * Получение страницы бронирований по вещам текущего пользователя-владельца.
+     * Бронирования упорядочены по убыванию даты начала и идентификатора; следующая страница
+     * запрашивается по ключу последней полученной брони (курсору).
      *
-     * @param ownerId идентификатор владельца;
-     * @param state   состояния бронирований для отбора;
+     * @param ownerId     идентификатор владельца;
+     * @param state       состояния бронирований для отбора;
+     * @param cursorStart дата начала последней брони предыдущей страницы (null для первой страницы);
+     * @param cursorId    идентификатор последней брони предыдущей страницы;
+     * @param size        размер страницы.
      * @return Данные по найденным бронированиям.
      */
-    public List<BookingDto> getBookingsByOwner(long ownerId, BookingState state) {
+    public List<BookingDto> getBookingsByOwner(long ownerId, BookingState state, LocalDateTime cursorStart,
+                                               Long cursorId, int size) {
         checkUserId(ownerId);
+        Paging.checkSize(size);
 
+        Limit limit = Limit.of(size);
+        LocalDateTime now = LocalDateTime.now();
+        boolean firstPage = cursorStart == null;
         if (state != null) {
             if (state.equals(BookingState.ALL)) {
-                return bookingMapper.toBookingDtoList(bookingRepository.findAllBookingsByOwnerId(ownerId));
+                return bookingMapper.toBookingDtoList(firstPage
+                        ? bookingRepository.findAllBookingsByOwnerId(ownerId, limit)
+                        : bookingRepository.findAllBookingsByOwnerIdBefore(ownerId, cursorStart, cursorId, limit));
             } else if (state.equals(BookingState.CURRENT)) {
-                return bookingMapper.toBookingDtoList(bookingRepository.findCurrentBookingsByOwnerId(ownerId,
-                        LocalDateTime.now()));
+                return bookingMapper.toBookingDtoList(firstPage
+                        ? bookingRepository.findCurrentBookingsByOwnerId(ownerId, now, limit)
+                        : bookingRepository.findCurrentBookingsByOwnerIdBefore(ownerId, now, cursorStart,
+                                cursorId, limit));
             } else if (state.equals(BookingState.PAST)) {
-                return bookingMapper.toBookingDtoList(bookingRepository.findPastBookingsByOwnerId(ownerId,
-                        LocalDateTime.now()));
+                return bookingMapper.toBookingDtoList(firstPage
+                        ? bookingRepository.findPastBookingsByOwnerId(ownerId, now, limit)
+                        : bookingRepository.findPastBookingsByOwnerIdBefore(ownerId, now, cursorStart,
+                                cursorId, limit));
             } else if (state.equals(BookingState.FUTURE)) {
-                return bookingMapper.toBookingDtoList(bookingRepository.findFutureBookingsByOwnerId(ownerId,
-                        LocalDateTime.now()));
+                return bookingMapper.toBookingDtoList(firstPage
+                        ? bookingRepository.findFutureBookingsByOwnerId(ownerId, now, limit)
+                        : bookingRepository.findFutureBookingsByOwnerIdBefore(ownerId, now, cursorStart,
+                                cursorId, limit));
             } else if (state.equals(BookingState.WAITING)) {
-                return bookingMapper.toBookingDtoList(bookingRepository.findBookingsByOwnerIdAndStatus(ownerId,
-                        List.of(BookingStatus.WAITING)));
+                return bookingMapper.toBookingDtoList(firstPage
+                        ? bookingRepository.findBookingsByOwnerIdAndStatus(ownerId,
+                                List.of(BookingStatus.WAITING), limit)
+                        : bookingRepository.findBookingsByOwnerIdAndStatusBefore(ownerId,
+                                List.of(BookingStatus.WAITING), cursorStart, cursorId, limit));
             } else if (state.equals(BookingState.REJECTED)) {
-                return bookingMapper.toBookingDtoList(bookingRepository.findBookingsByOwnerIdAndStatus(ownerId,
-                        List.of(BookingStatus.REJECTED)));
+                return bookingMapper.toBookingDtoList(firstPage
+                        ? bookingRepository.findBookingsByOwnerIdAndStatus(ownerId,
+                                List.of(BookingStatus.REJECTED), limit)
+                        : bookingRepository.findBookingsByOwnerIdAndStatusBefore(ownerId,
+                                List.of(BookingStatus.REJECTED), cursorStart, cursorId, limit));
             }
         }
         throw new ValidationException("Указано неверное состояние для отбора бронирований.");
     }
 
+    /**
+     * Метод выгрузки всей истории бронирований по вещам владельца. Пользователь проверяется сразу,
+     * а бронирования читаются курсором и записываются в ответ уже после выхода из контроллера.
+     *
+     * @param ownerId идентификатор пользователя-владельца;
+     * @param format  формат выгрузки.
+     * @return Тело ответа, записываемое потоком.
+     */
+    @Override
+    public StreamingResponseBody exportBookingsByOwner(long ownerId, BookingExportFormat format) {
+        checkUserId(ownerId);
+
+        return out -> bookingExporter.writeBookingsByOwner(ownerId, format, out);
+    }
+
+    /**
+     * Метод проверки пересечения добавляемой брони с уже имеющимися бронированиями вещи.
+     *
+     * @param bookingCreateDto атрибуты брони.
+     */
+    private void checkCrossing(BookingCreateDto bookingCreateDto) {
+        boolean crossing = switch (bookingProperties.getOverlapCheck()) {
+            case INDEX -> !bookingIntervalIndex.tryReserve(bookingCreateDto.getItemId(),
+                    bookingCreateDto.getStart(),
+                    bookingCreateDto.getEnd());
+            case DATABASE -> bookingRepository.crossingCount(bookingCreateDto.getItemId(),
+                    bookingCreateDto.getStart(),
+                    bookingCreateDto.getEnd()) > 0;
+            case CONSTRAINT -> false;
+        };
+        if (crossing) {
+            throw new ConflictException(CROSSING_MESSAGE);
+        }
+    }
+
+    /**
+     * Метод получения уже занятых интервалов вещей пакета одним запросом по общему диапазону дат пакета.
+     * При проверке по индексу в памяти запрос не нужен.
+     *
+     * @param bookingCreateDtos атрибуты броней пакета;
+     * @param itemIds           идентификаторы вещей пакета.
+     * @return Занятые интервалы по идентификаторам вещей.
+     */
+    private Map<Long, List<BookingIntervalDto>> findTakenIntervals(List<BookingCreateDto> bookingCreateDtos,
+                                                                   Set<Long> itemIds) {
+        Map<Long, List<BookingIntervalDto>> takenIntervals = new HashMap<>();
+        if (bookingCreateDtos.isEmpty() || bookingProperties.getOverlapCheck() == BookingOverlapCheck.INDEX) {
+            return takenIntervals;
+        }
+
+        LocalDateTime start = bookingCreateDtos.stream()
+                .map(BookingCreateDto::getStart)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        LocalDateTime end = bookingCreateDtos.stream()
+                .map(BookingCreateDto::getEnd)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        for (BookingIntervalDto interval : bookingRepository.findCrossingIntervals(itemIds, start, end)) {
+            takenIntervals.computeIfAbsent(interval.getItemId(), id -> new ArrayList<>()).add(interval);
+        }
+
+        return takenIntervals;
+    }
+
+    /**
+     * Метод резервирования интервала брони пакета: проверка пересечения с занятыми интервалами вещи
+     * (или по индексу в памяти) и добавление интервала к занятым.
+     *
+     * @param takenIntervals   занятые интервалы по идентификаторам вещей;
+     * @param bookingCreateDto атрибуты брони.
+     * @return true, если интервал свободен и зарезервирован.
+     */
+    private boolean tryReserve(Map<Long, List<BookingIntervalDto>> takenIntervals,
+                               BookingCreateDto bookingCreateDto) {
+        if (bookingProperties.getOverlapCheck() == BookingOverlapCheck.INDEX) {
+            return bookingIntervalIndex.tryReserve(bookingCreateDto.getItemId(), bookingCreateDto.getStart(),
+                    bookingCreateDto.getEnd());
+        }
+
+        List<BookingIntervalDto> itemIntervals = takenIntervals.computeIfAbsent(bookingCreateDto.getItemId(),
+                id -> new ArrayList<>());
+        boolean crossing = itemIntervals.stream()
+                .anyMatch(interval -> interval.getStart().isBefore(bookingCreateDto.getEnd())
+                        && interval.getEnd().isAfter(bookingCreateDto.getStart()));
+        if (crossing) {
+            return false;
+        }
+        itemIntervals.add(new BookingIntervalDto(bookingCreateDto.getItemId(), bookingCreateDto.getStart(),
+                bookingCreateDto.getEnd()));
+
+        return true;
+    }
+
+    /**
+     * Метод проверки, что вставка брони нарушила ограничение непересечения бронирований вещи
+     * (SQLSTATE 23P01 exclusion_violation в PostgreSQL).
+     *
+     * @param e ошибка целостности данных при вставке.
+     * @return true, если бронь пересекается с уже имеющимися.
+     */
+    static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        return NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLException sqlException
+                && EXCLUSION_VIOLATION.equals(sqlException.getSQLState());
+    }
+
     /**
      * Метод проверки наличия указанного пользователя в хранилище.
      *
      * @param userId проверяемый идентификатор пользователя.
-     * @return Найденный пользователь
+     * @return Ссылка на найденного пользователя (загружается при обращении к атрибутам)
      */
     private User checkUserId(long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new ForbiddenException("Пользователь не найден по userId = " + userId));
+        if (!userExistenceCache.exists(userId)) {
+            throw new ForbiddenException("Пользователь не найден по userId = " + userId);
+        }
+
+        return userRepository.getReferenceById(userId);
+    }
+
+    /**
+     * Метод проверки доступа пользователя к данным бронирования.
+     *
+     * @param userId    идентификатор пользователя для получения данных;
+     * @param bookingId проверяемое бронирование.
+     * @return Найденное бронирование
+     */
+    private Booking checkBookingAccess(long userId, long bookingId) {
+        checkUserId(userId);
+        Booking booking = checkBookingId(bookingId);
+
+        if (!bookingRepository.getItemOwnerId(bookingId).equals(userId)
+                && !booking.getBooker().getId().equals(userId)) {
+            throw new ValidationException("Пользователь не является ни владельцем вещи, ни автором брони. " +
+                    "Получение данных о бронировании запрещено.");
+        }
+
+        return booking;
     }
 
     /**
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Проверка при старте приложения, что выбранные режимы работы с бронированиями поддерживаются базой данных.
+ * Режимы {@link BookingOverlapCheck#CONSTRAINT} и {@link BookingAdmissionLock#ADVISORY} опираются на возможности
+ * PostgreSQL: на другой базе данных первый оставил бы бронирования вовсе без проверки пересечений.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingVendorCheck {
+    /**
+     * Название PostgreSQL в метаданных JDBC.
+     */
+    static final String POSTGRESQL = "PostgreSQL";
+
+    /**
+     * Источник соединений с базой данных.
+     */
+    private final DataSource dataSource;
+
+    /**
+     * Настройки работы с бронированиями.
+     */
+    private final BookingProperties bookingProperties;
+
+    /**
+     * Отказ в запуске, если режим, требующий PostgreSQL, выбран для другой базы данных.
+     */
+    @PostConstruct
+    public void check() {
+        boolean constraint = bookingProperties.getOverlapCheck() == BookingOverlapCheck.CONSTRAINT;
+        boolean advisory = bookingProperties.getAdmissionLock() == BookingAdmissionLock.ADVISORY;
+        if (!constraint && !advisory) {
+            return;
+        }
+
+        String product = databaseProductName();
+        if (POSTGRESQL.equals(product)) {
+            return;
+        }
+        if (constraint) {
+            throw new IllegalStateException("Режим shareit.booking.overlap-check=CONSTRAINT требует PostgreSQL, "
+                    + "а база данных - " + product + ": пересекающиеся бронирования не будут отклоняться");
+        }
+        throw new IllegalStateException("Режим shareit.booking.admission-lock=ADVISORY требует PostgreSQL, "
+                + "а база данных - " + product);
+    }
+
+    /**
+     * Название базы данных из метаданных соединения.
+     *
+     * @return название базы данных.
+     */
+    private String databaseProductName() {
+        try {
+            return JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Не удалось определить базу данных для проверки настроек shareit.booking", e);
+        }
+    }
+}
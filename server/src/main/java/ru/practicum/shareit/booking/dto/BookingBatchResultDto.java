@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Результат добавления одной брони из пакета: созданная бронь либо причина отказа.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookingBatchResultDto {
+    /**
+     * Порядковый номер брони в пакете (с нуля).
+     */
+    private int index;
+
+    /**
+     * Созданная бронь, если она принята.
+     */
+    private BookingDto booking;
+
+    /**
+     * Причина отказа, если бронь не принята.
+     */
+    private String error;
+}
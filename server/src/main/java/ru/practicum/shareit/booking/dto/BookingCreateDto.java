@@ -1,5 +1,8 @@
 package ru.practicum.shareit.booking.dto;
 
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -19,8 +22,16 @@ import java.time.LocalDateTime;
 @ToString
 public class BookingCreateDto {
 
+    @NotNull(message = "Необходимо указать дату начала бронирования.")
+    @FutureOrPresent
     private LocalDateTime start;
+
+    @NotNull(message = "Необходимо указать дату конца бронирования.")
+    @Future
     private LocalDateTime end;
+
+    @NotNull(message = "Необходимо указать вещь для бронирования.")
     private Long itemId;
+
     private Long userId;
 }
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка выгрузки истории бронирований: плоская проекция {@link ru.practicum.shareit.booking.Booking},
+ * не попадающая в контекст постоянства.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class BookingExportDto {
+    private Long id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+    private Long itemId;
+    private String itemName;
+    private Long bookerId;
+    private String bookerName;
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Интервал бронирования вещи {@link ru.practicum.shareit.booking.Booking} без прочих атрибутов.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class BookingIntervalDto {
+    private Long itemId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
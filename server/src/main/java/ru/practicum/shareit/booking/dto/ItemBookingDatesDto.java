@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Даты начала последнего и ближайшего бронирования вещи относительно заданного момента.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ItemBookingDatesDto {
+    private Long itemId;
+    private LocalDateTime lastStart;
+    private LocalDateTime nextStart;
+}
@@ -10,8 +10,8 @@ import java.util.List;
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     @Query(value = "select c " +
             "from Comment c " +
-            "join c.item i " +
-            "join c.author a " +
+            "join fetch c.item i " +
+            "join fetch c.author a " +
             "where i.id in :itemIds "
     )
     List<Comment> getCommentsByItemIds(@Param("itemIds") List<Long> itemIds);
@@ -2,7 +2,9 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,15 +15,26 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBookingDatesComments;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemSearchDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
-
+import ru.practicum.shareit.item.imports.ItemImportFormat;
+import ru.practicum.shareit.util.ETags;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import static ru.practicum.shareit.util.Const.DEFAULT_PAGE_SIZE;
 import static ru.practicum.shareit.util.Const.SHARER_USER_ID;
 
 /**
@@ -56,6 +69,29 @@ public class ItemController {
         return itemDto;
     }
 
+    /**
+     * Метод импорта вещей пользователя из потока NDJSON ({@code application/x-ndjson}) или CSV ({@code text/csv}).
+     * Тело запроса читается построчно, без загрузки в память целиком.
+     *
+     * @param userId      идентификатор добавляющего вещи пользователя;
+     * @param contentType тип содержимого запроса;
+     * @param body        поток строк с вещами.
+     * @return Итог импорта.
+     */
+    @PostMapping("/import")
+    public ItemImportResultDto importItems(@RequestHeader(SHARER_USER_ID) long userId,
+                                           @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                           InputStream body) {
+        log.info("==> importItems userId = {}, contentType = {}", userId, contentType);
+        ItemImportFormat format = ItemImportFormat.of(contentType);
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        Reader reader = new InputStreamReader(body, charset);
+        ItemImportResultDto result = itemService.addAll(userId, format, reader);
+        log.info("<== imported = {}, rejected = {}", result.getImported(), result.getRejected());
+
+        return result;
+    }
+
     /**
      * Метод изменения вещи.
      *
@@ -80,14 +116,21 @@ public class ItemController {
     /**
      * Метод получения данных по вещи.
      *
-     * @param userId идентификатор пользователя для получения данных;
-     * @param itemId идентификатор вещи для запроса;
-     * @return Данные по найденной вещи.
+     * @param userId     идентификатор пользователя для получения данных;
+     * @param itemId     идентификатор вещи для запроса;
+     * @param webRequest текущий запрос для проверки If-None-Match;
+     * @return Данные по найденной вещи или null, если у клиента актуальная копия (ответ 304).
      */
     @GetMapping("/{itemId}")
-    public ItemDtoBookingDatesComments get(@RequestHeader(SHARER_USER_ID) long userId, @PathVariable long itemId) {
+    public ItemDtoBookingDatesComments get(@RequestHeader(SHARER_USER_ID) long userId, @PathVariable long itemId,
+                                           ServletWebRequest webRequest) {
         log.info("==> get by userId = {}, itemId = {}", userId, itemId);
-        ItemDtoBookingDatesComments itemDto = itemService.getById(itemId);
+        ItemDtoBookingDatesComments itemDto = itemService.getById(itemId,
+                etag -> ETags.checkNotModified(webRequest, etag));
+        if (itemDto == null) {
+            log.info("<== not modified");
+            return null;
+        }
         log.info("<== {}", itemDto);
 
         return itemDto;
@@ -112,13 +155,18 @@ public class ItemController {
      * Метод поиска вещей, доступных для аренды, по названию и/или описанию.
      *
      * @param userId идентификатор владельца для получения данных;
-     * @param text   строка поиска.
-     * @return Список данных по вещам.
+     * @param text   строка поиска;
+     * @param from   количество пропускаемых результатов;
+     * @param size   максимальное количество результатов.
+     * @return Список данных по вещам в порядке убывания релевантности.
      */
     @GetMapping("/search")
-    public List<ItemDto> search(@RequestHeader(SHARER_USER_ID) long userId, @RequestParam String text) {
-        log.info("==> search by userId = {}, text = {}", userId, text);
-        List<ItemDto> itemsDto = itemService.search(text, userId);
+    public List<ItemSearchDto> search(@RequestHeader(SHARER_USER_ID) long userId,
+                                      @RequestParam String text,
+                                      @RequestParam(defaultValue = "0") int from,
+                                      @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        log.info("==> search by userId = {}, text = {}, from = {}, size = {}", userId, text, from, size);
+        List<ItemSearchDto> itemsDto = itemService.search(text, userId, from, size);
         log.info("<== {}", itemsDto);
 
         return itemsDto;
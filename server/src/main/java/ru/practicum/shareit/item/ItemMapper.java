@@ -5,8 +5,11 @@ import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBookingDatesComments;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSearchDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.dto.OwnerItemRow;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchHit;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
@@ -22,11 +25,15 @@ public interface ItemMapper {
 
     List<ItemDto> toItemDtoList(List<Item> items);
 
+    List<ItemSearchDto> toItemSearchDtoList(List<ItemSearchHit> hits);
+
     List<ItemDtoBookingDatesComments> toItemDtoBookingDatesComments(List<Item> items,
                                                                     Map<Long, LocalDateTime> lastBookingDates,
                                                                     Map<Long, LocalDateTime> nearestBookingDates,
                                                                     Map<Long, List<CommentDto>> commentsDtoMap);
 
+    List<ItemDtoBookingDatesComments> toOwnerItemDtoList(List<OwnerItemRow> rows);
+
     ItemDtoBookingDatesComments toItemDtoWithComments(Item item, List<CommentDto> comments);
 
     List<ItemResponseDto> toItemResponseDtoList(List<Item> items);
@@ -6,11 +6,16 @@ import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBookingDatesComments;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSearchDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.dto.OwnerItemRow;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchHit;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -84,6 +89,25 @@ public class ItemMapperImpl implements ItemMapper {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Метод преобразования выходных данных по найденным вещам с оценкой релевантности.
+     *
+     * @param hits список найденных вещей для вывода.
+     * @return Список объектов для вывода данных.
+     */
+    public List<ItemSearchDto> toItemSearchDtoList(List<ItemSearchHit> hits) {
+        return hits.stream()
+                .map(hit -> ItemSearchDto.builder()
+                        .id(hit.getItem().getId())
+                        .name(hit.getItem().getName())
+                        .description(hit.getItem().getDescription())
+                        .available(hit.getItem().getAvailable())
+                        .requestId(hit.getItem().getRequest() != null ? hit.getItem().getRequest().getId() : 0)
+                        .score(hit.getScore())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     /**
      * Метод преобразования выходных данных по вещам с указанием дат последнего и ближайшего
      * бронирования
@@ -113,6 +137,42 @@ public class ItemMapperImpl implements ItemMapper {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Метод преобразования строк списка вещей владельца: строки одной вещи, различающиеся отзывами,
+     * собираются в один объект.
+     *
+     * @param rows строки, упорядоченные по вещам.
+     * @return Список объектов для вывода данных.
+     */
+    public List<ItemDtoBookingDatesComments> toOwnerItemDtoList(List<OwnerItemRow> rows) {
+        Map<Long, ItemDtoBookingDatesComments> itemsDto = new LinkedHashMap<>();
+        for (OwnerItemRow row : rows) {
+            ItemDtoBookingDatesComments itemDto = itemsDto.computeIfAbsent(row.getId(),
+                    id -> ItemDtoBookingDatesComments.builder()
+                            .id(row.getId())
+                            .name(row.getName())
+                            .description(row.getDescription())
+                            .available(row.getAvailable())
+                            .requestId(row.getRequestId() != null ? row.getRequestId() : 0)
+                            .lastBooking(row.getLastBooking())
+                            .nextBooking(row.getNextBooking())
+                            .build());
+            if (row.getCommentId() != null) {
+                if (itemDto.getComments() == null) {
+                    itemDto.setComments(new ArrayList<>());
+                }
+                itemDto.getComments().add(CommentDto.builder()
+                        .id(row.getCommentId())
+                        .text(row.getCommentText())
+                        .itemId(row.getId())
+                        .authorName(row.getAuthorName())
+                        .build());
+            }
+        }
+
+        return new ArrayList<>(itemsDto.values());
+    }
+
     /**
      * Метод преобразования выходных данных по вещи с указанием отзывов о ней.
      *
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import ru.practicum.shareit.item.search.ItemSearchEngineConfig;
+import ru.practicum.shareit.item.search.ItemSearchEngineType;
+
+/**
+ * Настройки работы с вещами (префикс {@code shareit.item}).
+ */
+@ConfigurationProperties(prefix = "shareit.item")
+@Getter
+@Setter
+public class ItemProperties {
+    /**
+     * Механизм поиска вещей по тексту. Бин механизма создается в {@link ItemSearchEngineConfig}.
+     */
+    private ItemSearchEngineType searchEngine = ItemSearchEngineType.LIKE;
+
+    /**
+     * Способ чтения списка вещей владельца.
+     */
+    private OwnerItemsRead ownerItemsRead = OwnerItemsRead.SINGLE_QUERY;
+
+    /**
+     * Количество вещей, после сохранения которых при импорте контекст сбрасывается в базу и очищается.
+     */
+    private int importChunkSize = 500;
+}
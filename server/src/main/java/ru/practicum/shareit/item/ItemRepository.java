@@ -1,21 +1,66 @@
 package ru.practicum.shareit.item;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.OwnerItemRow;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchRank;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Item> findAllByOwnerId(long ownerId);
 
+    @Query("select i.id from Item i where i.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(@Param("ownerId") long ownerId);
+
+    List<Item> findAllByAvailableTrue();
+
+    @Query(value = "select i.item_id as id, i.name as name, i.description as description, " +
+            "  i.is_available as available, i.request_id as requestId, " +
+            "  bd.last_start as lastBooking, bd.next_start as nextBooking, " +
+            "  c.comment_id as commentId, c.text as commentText, a.name as authorName " +
+            "from items i " +
+            "left join (select b.item_id as item_id, " +
+            "    max(case when b.start_date < :onTime then b.start_date end) as last_start, " +
+            "    min(case when b.start_date > :onTime then b.start_date end) as next_start " +
+            "  from bookings b " +
+            "  join items bi on bi.item_id = b.item_id " +
+            "  where bi.owner_id = :ownerId " +
+            "  group by b.item_id) bd on bd.item_id = i.item_id " +
+            "left join comments c on c.item_id = i.item_id " +
+            "left join users a on a.user_id = c.author_id " +
+            "where i.owner_id = :ownerId " +
+            "order by i.item_id, c.comment_id", nativeQuery = true)
+    List<OwnerItemRow> findOwnerItemRows(@Param("ownerId") long ownerId, @Param("onTime") LocalDateTime onTime);
+
     @Query("select i from Item i " +
             "where i.available = true " +
             "and (upper(i.name) like upper(concat('%',:search,'%')) " +
-            "  or upper(i.description) like upper(concat('%', :search, '%')))")
-    List<Item> search(@Param("search") String search);
+            "  or upper(i.description) like upper(concat('%', :search, '%'))) " +
+            "order by i.id " +
+            "limit :size offset :from")
+    List<Item> search(@Param("search") String search, @Param("from") int from, @Param("size") int size);
+
+    @Query(value = "select i.item_id as id, " +
+            "  cast(ts_rank(to_tsvector('simple', coalesce(i.name, '') || ' ' || coalesce(i.description, '')), " +
+            "    plainto_tsquery('simple', :search)) as double precision) as score " +
+            "from items i " +
+            "where i.is_available = true " +
+            "and to_tsvector('simple', coalesce(i.name, '') || ' ' || coalesce(i.description, '')) " +
+            "  @@ plainto_tsquery('simple', :search) " +
+            "order by score desc, i.item_id " +
+            "limit :size offset :from", nativeQuery = true)
+    List<ItemSearchRank> searchFullText(@Param("search") String search,
+                                        @Param("from") int from,
+                                        @Param("size") int size);
 
     @Query("select i from Item i where i.request.id = :requestId")
     List<Item> getItemsByRequestId(@Param("requestId") Long requestId);
@@ -5,21 +5,30 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBookingDatesComments;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemSearchDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.imports.ItemImportFormat;
 
+import java.io.Reader;
 import java.util.List;
+import java.util.function.Predicate;
 
 public interface ItemService {
 
     ItemDto add(ItemCreateDto newItem);
 
+    ItemImportResultDto addAll(long userId, ItemImportFormat format, Reader reader);
+
     ItemDto update(ItemUpdateDto item);
 
     ItemDtoBookingDatesComments getById(long itemId);
 
+    ItemDtoBookingDatesComments getById(long itemId, Predicate<String> notModified);
+
     List<ItemDtoBookingDatesComments> findAllByOwnerId(long userId);
 
-    List<ItemDto> search(String text, long userId);
+    List<ItemSearchDto> search(String text, long userId, int from, int size);
 
     CommentDto addComment(CommentCreateDto commentCreateDto);
 }
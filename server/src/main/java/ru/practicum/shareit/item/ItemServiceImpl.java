@@ -1,5 +1,7 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -7,6 +9,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.ItemBookingDatesDto;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
@@ -15,20 +18,38 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBookingDatesComments;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemSearchDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.dto.OwnerItemRow;
+import ru.practicum.shareit.item.imports.ItemImportFormat;
+import ru.practicum.shareit.item.imports.ItemImportReader;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserRepository;
-
+import ru.practicum.shareit.util.ETags;
+import ru.practicum.shareit.util.InListLoader;
+import ru.practicum.shareit.util.Paging;
+import ru.practicum.shareit.util.ReadOnlyFanOut;
+import ru.practicum.shareit.util.RetryOnConflict;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 /**
  * Сервис работы с вещами.
@@ -48,6 +69,11 @@ public class ItemServiceImpl implements ItemService {
      */
     private final UserRepository userRepository;
 
+    /**
+     * Кэш проверки существования пользователей.
+     */
+    private final UserExistenceCache userExistenceCache;
+
     /**
      * Хранилище бронирований вещей.
      */
@@ -73,6 +99,36 @@ public class ItemServiceImpl implements ItemService {
      */
     private final CommentMapperImpl commentMapper;
 
+    /**
+     * Механизм поиска вещей по тексту.
+     */
+    private final ItemSearchEngine itemSearchEngine;
+
+    /**
+     * Настройки работы с вещами.
+     */
+    private final ItemProperties itemProperties;
+
+    /**
+     * Загрузка по длинным спискам идентификаторов вещей.
+     */
+    private final InListLoader inListLoader;
+
+    /**
+     * Параллельное выполнение независимых запросов на чтение.
+     */
+    private final ReadOnlyFanOut readOnlyFanOut;
+
+    /**
+     * Менеджер сущностей для сброса и очистки контекста при импорте.
+     */
+    private final EntityManager entityManager;
+
+    /**
+     * Преобразователь JSON для разбора строк импорта.
+     */
+    private final ObjectMapper objectMapper;
+
     /**
      * Метод добавления вещи.
      *
@@ -93,10 +149,81 @@ public class ItemServiceImpl implements ItemService {
         }
 
         newItem = itemRepository.save(newItem);
+        itemSearchEngine.indexAfterCommit(newItem);
 
         return itemMapper.toItemDto(newItem);
     }
 
+    /**
+     * Метод импорта вещей владельца из потока NDJSON или CSV. Поток читается построчно, вещи сохраняются
+     * пакетами по {@link ItemProperties#getImportChunkSize()} с очисткой контекста после каждого пакета,
+     * а поисковый индекс перестраивается один раз после фиксации, поэтому память не зависит от размера потока.
+     * Ошибочные строки не прерывают импорт и попадают в отчет.
+     *
+     * @param userId идентификатор пользователя-владельца;
+     * @param format формат потока;
+     * @param reader поток строк импорта.
+     * @return Итог импорта.
+     */
+    @Override
+    @Transactional
+    public ItemImportResultDto addAll(long userId, ItemImportFormat format, Reader reader) {
+        User owner = checkUserId(userId);
+        ItemImportReader importReader = new ItemImportReader(format, reader, objectMapper);
+        ItemImportResultDto result = new ItemImportResultDto();
+        Map<Long, ItemRequest> requests = new HashMap<>();
+        int chunkSize = Math.max(1, itemProperties.getImportChunkSize());
+        int pending = 0;
+
+        try {
+            importReader.open();
+            while (true) {
+                ItemCreateDto itemCreateDto;
+                try {
+                    itemCreateDto = importReader.next();
+                    if (itemCreateDto == null) {
+                        break;
+                    }
+                    checkImported(itemCreateDto);
+                } catch (ValidationException e) {
+                    result.addRejected(importReader.getLineNumber(), e.getMessage());
+                    continue;
+                }
+
+                Item newItem = itemMapper.toItemOnCreate(itemCreateDto, owner);
+                Long requestId = itemCreateDto.getRequestId();
+                if (requestId != null && requestId != 0L) {
+                    ItemRequest request = requests.computeIfAbsent(requestId,
+                            id -> itemRequestRepository.findById(id).orElse(null));
+                    if (request == null) {
+                        result.addRejected(importReader.getLineNumber(),
+                                "Запрос не найден по requestID = " + requestId);
+                        continue;
+                    }
+                    newItem.setRequest(request);
+                }
+
+                itemRepository.save(newItem);
+                result.addImported();
+
+                if (++pending == chunkSize) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    pending = 0;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка чтения потока импорта вещей", e);
+        }
+        if (result.getImported() > 0) {
+            itemSearchEngine.reindexAfterCommit();
+        }
+        log.info("Импорт вещей пользователя {}: добавлено {}, отклонено {}", userId, result.getImported(),
+                result.getRejected());
+
+        return result;
+    }
+
     /**
      * Метод изменения вещи.
      *
@@ -105,6 +232,7 @@ public class ItemServiceImpl implements ItemService {
      */
     @Override
     @Transactional
+    @RetryOnConflict
     public ItemDto update(ItemUpdateDto itemUpdateDto) {
         long userId = itemUpdateDto.getUserId();
         checkUserId(userId);
@@ -115,6 +243,7 @@ public class ItemServiceImpl implements ItemService {
 
         itemMapper.toItemOnUpdate(itemForUpdate, itemUpdateDto);
         itemForUpdate = itemRepository.save(itemForUpdate);
+        itemSearchEngine.indexAfterCommit(itemForUpdate);
 
         return itemMapper.toItemDto(itemForUpdate);
     }
@@ -127,8 +256,30 @@ public class ItemServiceImpl implements ItemService {
      */
     @Override
     public ItemDtoBookingDatesComments getById(long itemId) {
+        return getById(itemId, etag -> false);
+    }
+
+    /**
+     * Метод получения данных по вещи с проверкой ETag. Вещь и отзывы загружаются один раз; ETag строится
+     * по версии вещи, а также идентификаторам отзывов и версиям их авторов (отзывы не изменяются).
+     *
+     * @param itemId      идентификатор вещи;
+     * @param notModified проверка ETag: {@code true}, если у клиента актуальная версия данных.
+     * @return Выходные данные по вещи или {@code null}, если данные не изменились.
+     */
+    @Override
+    public ItemDtoBookingDatesComments getById(long itemId, Predicate<String> notModified) {
         Item item = checkItemId(itemId);
-        List<Comment> comments = commentRepository.getCommentsByItemIds(List.of(itemId));
+        List<Comment> comments = commentRepository.getCommentsByItemIds(List.of(itemId)).stream()
+                .sorted(Comparator.comparing(Comment::getId))
+                .toList();
+
+        List<String> commentStamps = comments.stream()
+                .map(comment -> comment.getId() + ":" + comment.getAuthor().getVersion())
+                .toList();
+        if (notModified.test(ETags.of(item.getId(), item.getVersion(), commentStamps))) {
+            return null;
+        }
 
         List<CommentDto> commentsDto = new ArrayList<>();
         for (Comment comment : comments) {
@@ -139,31 +290,42 @@ public class ItemServiceImpl implements ItemService {
     }
 
     /**
-     * Метод поиска всех вещей владельца.
+     * Метод поиска всех вещей владельца. В режиме {@link OwnerItemsRead#PARALLEL} даты бронирований
+     * читаются в фоне, пока вызывающий поток читает отзывы.
      *
      * @param ownerId идентификатор пользователя-владельца.
      * @return Список выходных данных по вещам.
      */
     @Override
     public List<ItemDtoBookingDatesComments> findAllByOwnerId(long ownerId) {
+        if (itemProperties.getOwnerItemsRead() == OwnerItemsRead.SINGLE_QUERY) {
+            return findAllByOwnerIdSingleQuery(ownerId);
+        }
+
         checkUserId(ownerId);
 
         List<Item> items = itemRepository.findAllByOwnerId(ownerId);
         if (items != null && !items.isEmpty()) {
             List<Long> itemIds = items.stream().map(Item::getId).toList();
 
-            List<Booking> lastBookings = bookingRepository.lastBookingsByItemIds(itemIds, LocalDateTime.now());
-            List<Booking> nearestBookings = bookingRepository.nearestBookingsByItemIds(itemIds, LocalDateTime.now());
-            List<Comment> comments = commentRepository.getCommentsByItemIds(itemIds);
-
-            Map<Long, LocalDateTime> lastBookingDates = new HashMap<>();
-            for (Booking lastBooking : lastBookings) {
-                lastBookingDates.put(lastBooking.getItem().getId(), lastBooking.getStart());
+            LocalDateTime now = LocalDateTime.now();
+            List<ItemBookingDatesDto> bookingDates;
+            List<Comment> comments;
+            if (itemProperties.getOwnerItemsRead() == OwnerItemsRead.PARALLEL) {
+                CompletableFuture<List<ItemBookingDatesDto>> bookingDatesFuture = readOnlyFanOut.submit(
+                        () -> inListLoader.load(itemIds, ids -> bookingRepository.bookingDatesByItemIds(ids, now)));
+                comments = inListLoader.load(itemIds, commentRepository::getCommentsByItemIds);
+                bookingDates = readOnlyFanOut.join(bookingDatesFuture);
+            } else {
+                bookingDates = inListLoader.load(itemIds, ids -> bookingRepository.bookingDatesByItemIds(ids, now));
+                comments = inListLoader.load(itemIds, commentRepository::getCommentsByItemIds);
             }
 
+            Map<Long, LocalDateTime> lastBookingDates = new HashMap<>();
             Map<Long, LocalDateTime> nearestBookingDates = new HashMap<>();
-            for (Booking nearestBooking : nearestBookings) {
-                nearestBookingDates.put(nearestBooking.getItem().getId(), nearestBooking.getStart());
+            for (ItemBookingDatesDto itemBookingDates : bookingDates) {
+                lastBookingDates.put(itemBookingDates.getItemId(), itemBookingDates.getLastStart());
+                nearestBookingDates.put(itemBookingDates.getItemId(), itemBookingDates.getNextStart());
             }
 
             Map<Long, List<CommentDto>> commentsDtoMap = new HashMap<>();
@@ -185,16 +347,37 @@ public class ItemServiceImpl implements ItemService {
     }
 
     /**
-     * Метод поиска вещей по тексту наименования и описания.
+     * Метод поиска всех вещей владельца одним запросом. Наличие пользователя проверяется отдельно,
+     * только если вещей не найдено.
      *
-     * @param userId идентификатор пользователя, выполняющего поиск.
+     * @param ownerId идентификатор пользователя-владельца.
      * @return Список выходных данных по вещам.
      */
+    private List<ItemDtoBookingDatesComments> findAllByOwnerIdSingleQuery(long ownerId) {
+        List<OwnerItemRow> rows = itemRepository.findOwnerItemRows(ownerId, LocalDateTime.now());
+        if (rows.isEmpty()) {
+            checkUserId(ownerId);
+            return Collections.emptyList();
+        }
+
+        return itemMapper.toOwnerItemDtoList(rows);
+    }
+
+    /**
+     * Метод поиска вещей по тексту наименования и описания.
+     *
+     * @param text   строка поиска;
+     * @param userId идентификатор пользователя, выполняющего поиск;
+     * @param from   количество пропускаемых результатов;
+     * @param size   максимальное количество результатов.
+     * @return Список выходных данных по вещам в порядке убывания релевантности.
+     */
     @Override
-    public List<ItemDto> search(String text, long userId) {
+    public List<ItemSearchDto> search(String text, long userId, int from, int size) {
         checkUserId(userId);
+        Paging.checkPage(from, size);
 
-        return itemMapper.toItemDtoList(itemRepository.search(text));
+        return itemMapper.toItemSearchDtoList(itemSearchEngine.search(text, from, size));
     }
 
     /**
@@ -230,11 +413,39 @@ public class ItemServiceImpl implements ItemService {
      * Метод проверки наличия указанного пользователя в хранилище.
      *
      * @param userId проверяемый идентификатор пользователя.
-     * @return Найденный пользователь
+     * @return Ссылка на найденного пользователя (загружается при обращении к атрибутам)
      */
     private User checkUserId(long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден по userId = " + userId));
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("Пользователь не найден по userId = " + userId);
+        }
+
+        return userRepository.getReferenceById(userId);
+    }
+
+    /**
+     * Метод проверки строки импорта по тем же правилам, что и при добавлении одной вещи через шлюз.
+     *
+     * @param itemCreateDto данные вещи из строки импорта.
+     */
+    private void checkImported(ItemCreateDto itemCreateDto) {
+        if (itemCreateDto.getName() == null || itemCreateDto.getName().isBlank()) {
+            throw new ValidationException("Наименование вещи не может быть пустым");
+        }
+        if (itemCreateDto.getName().length() > Item.NAME_MAX_LENGTH) {
+            throw new ValidationException("Наименование вещи должно быть не длиннее " + Item.NAME_MAX_LENGTH
+                    + " символов");
+        }
+        if (itemCreateDto.getDescription() == null || itemCreateDto.getDescription().isBlank()) {
+            throw new ValidationException("Описание вещи не может быть пустым");
+        }
+        if (itemCreateDto.getDescription().length() > Item.DESCRIPTION_MAX_LENGTH) {
+            throw new ValidationException("Описание вещи должно быть не длиннее " + Item.DESCRIPTION_MAX_LENGTH
+                    + " символов");
+        }
+        if (itemCreateDto.getAvailable() == null) {
+            throw new ValidationException("Статус доступности вещи должен быть указан");
+        }
     }
 
     /**
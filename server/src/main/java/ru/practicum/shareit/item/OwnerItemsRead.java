@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item;
+
+/**
+ * Способ чтения списка вещей владельца с датами бронирований и отзывами.
+ */
+public enum OwnerItemsRead {
+    /**
+     * Последовательные запросы: пользователь, вещи, даты бронирований, отзывы.
+     */
+    SEQUENTIAL,
+    /**
+     * Как {@link #SEQUENTIAL}, но даты бронирований и отзывы по найденным вещам читаются одновременно
+     * на разных соединениях в транзакциях только для чтения.
+     */
+    PARALLEL,
+    /**
+     * Один запрос с соединением вещей, агрегированных дат бронирований и отзывов.
+     */
+    SINGLE_QUERY
+}
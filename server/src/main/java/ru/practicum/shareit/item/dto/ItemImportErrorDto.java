@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ошибка в строке потока импорта вещей.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemImportErrorDto {
+    /**
+     * Номер строки потока (с единицы).
+     */
+    private long line;
+
+    /**
+     * Причина, по которой вещь из строки не добавлена.
+     */
+    private String error;
+}
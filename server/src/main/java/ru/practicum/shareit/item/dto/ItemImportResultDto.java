@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Итог импорта вещей: количество добавленных и отклоненных строк и первые ошибки.
+ */
+@Data
+@NoArgsConstructor
+public class ItemImportResultDto {
+    /**
+     * Наибольшее количество ошибок в отчете: отчет не растет вместе с размером потока.
+     */
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    /**
+     * Количество добавленных вещей.
+     */
+    private long imported;
+
+    /**
+     * Количество отклоненных строк.
+     */
+    private long rejected;
+
+    /**
+     * Ошибки по строкам (не более {@link #MAX_REPORTED_ERRORS}).
+     */
+    private List<ItemImportErrorDto> errors = new ArrayList<>();
+
+    /**
+     * Учет добавленной вещи.
+     */
+    public void addImported() {
+        imported++;
+    }
+
+    /**
+     * Учет отклоненной строки.
+     *
+     * @param line  номер строки;
+     * @param error причина отказа.
+     */
+    public void addRejected(long line, String error) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ItemImportErrorDto(line, error));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция строки списка вещей владельца: вещь с датами последнего и ближайшего бронирования и один из отзывов
+ * о ней (атрибуты отзыва пусты, если отзывов нет).
+ */
+public interface OwnerItemRow {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getRequestId();
+
+    LocalDateTime getLastBooking();
+
+    LocalDateTime getNextBooking();
+
+    Long getCommentId();
+
+    String getCommentText();
+
+    String getAuthorName();
+}
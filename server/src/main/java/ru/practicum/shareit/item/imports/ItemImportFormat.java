@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.imports;
+
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Формат потока импорта вещей.
+ */
+public enum ItemImportFormat {
+    /**
+     * Одна вещь в формате JSON на строку ({@code application/x-ndjson}).
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON),
+
+    /**
+     * Строка заголовка с именами колонок и по одной вещи на строку ({@code text/csv}).
+     */
+    CSV(new MediaType("text", "csv"));
+
+    /**
+     * Тип содержимого запроса.
+     */
+    private final MediaType mediaType;
+
+    ItemImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Определение формата по типу содержимого запроса.
+     *
+     * @param contentType тип содержимого запроса.
+     * @return Формат импорта.
+     */
+    public static ItemImportFormat of(MediaType contentType) {
+        for (ItemImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new ValidationException("Импорт вещей поддерживает форматы application/x-ndjson и text/csv");
+    }
+}
@@ -0,0 +1,237 @@
+package ru.practicum.shareit.item.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Построчное чтение вещей из потока импорта: в памяти находится только текущая строка.
+ * <p>
+ * В CSV первая непустая строка - заголовок с колонками {@code name}, {@code description}, {@code available}
+ * и необязательной {@code requestId} в любом порядке; значения с запятыми и кавычками заключаются в двойные
+ * кавычки, перевод строки внутри значения не поддерживается.
+ * <p>
+ * Строка длиннее {@link #MAX_LINE_LENGTH} символов не накапливается в памяти: остаток пропускается до конца
+ * строки, и строка отклоняется как ошибочная.
+ */
+public class ItemImportReader {
+    /**
+     * Обязательные колонки CSV.
+     */
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "description", "available");
+
+    /**
+     * Наибольшая длина строки импорта: с запасом на разметку JSON и экранирование при наибольших длинах
+     * названия и описания вещи.
+     */
+    public static final int MAX_LINE_LENGTH = 4096;
+
+    /**
+     * Формат потока.
+     */
+    private final ItemImportFormat format;
+
+    /**
+     * Поток строк импорта.
+     */
+    private final BufferedReader reader;
+
+    /**
+     * Преобразователь JSON.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Номера колонок CSV по их именам в нижнем регистре.
+     */
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    /**
+     * Номер последней прочитанной строки (с единицы).
+     */
+    private long lineNumber;
+
+    public ItemImportReader(ItemImportFormat format, Reader reader, ObjectMapper objectMapper) {
+        this.format = format;
+        this.reader = reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Чтение заголовка CSV (для NDJSON ничего не делает).
+     *
+     * @throws IOException ошибка чтения потока.
+     */
+    public void open() throws IOException {
+        if (format != ItemImportFormat.CSV) {
+            return;
+        }
+
+        String header = nextLine();
+        if (header == null) {
+            return;
+        }
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new ValidationException("В заголовке CSV нет колонки " + column);
+            }
+        }
+    }
+
+    /**
+     * Чтение следующей вещи. Ошибочная строка пропускается с исключением, чтение можно продолжать.
+     *
+     * @return Данные вещи или null в конце потока.
+     * @throws IOException ошибка чтения потока.
+     */
+    public ItemCreateDto next() throws IOException {
+        String line = nextLine();
+        if (line == null) {
+            return null;
+        }
+
+        return format == ItemImportFormat.NDJSON ? parseJson(line) : parseCsv(line);
+    }
+
+    /**
+     * Номер последней прочитанной строки потока (с единицы).
+     *
+     * @return Номер строки.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    private String nextLine() throws IOException {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        return line;
+    }
+
+    /**
+     * Чтение строки не длиннее {@link #MAX_LINE_LENGTH} символов (разделители - {@code \n}, {@code \r\n}
+     * и {@code \r}).
+     *
+     * @return Строка без разделителя или null в конце потока.
+     * @throws IOException ошибка чтения потока.
+     */
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        boolean tooLong = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n' && c != '\r') {
+            if (line.length() < MAX_LINE_LENGTH) {
+                line.append((char) c);
+            } else {
+                tooLong = true;
+            }
+            c = reader.read();
+        }
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+        lineNumber++;
+        if (tooLong) {
+            throw new ValidationException("Строка длиннее " + MAX_LINE_LENGTH + " символов");
+        }
+
+        return line.toString();
+    }
+
+    private ItemCreateDto parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, ItemCreateDto.class);
+        } catch (JsonProcessingException e) {
+            throw new ValidationException("Ошибка разбора JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private ItemCreateDto parseCsv(String line) {
+        List<String> values = splitCsv(line);
+        ItemCreateDto itemCreateDto = new ItemCreateDto();
+        itemCreateDto.setName(column(values, "name"));
+        itemCreateDto.setDescription(column(values, "description"));
+
+        String available = column(values, "available");
+        if (available != null) {
+            if (!available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+                throw new ValidationException("Значение available должно быть true или false");
+            }
+            itemCreateDto.setAvailable(Boolean.valueOf(available));
+        }
+
+        String requestId = column(values, "requestid");
+        if (requestId != null) {
+            try {
+                itemCreateDto.setRequestId(Long.valueOf(requestId));
+            } catch (NumberFormatException e) {
+                throw new ValidationException("Значение requestId должно быть числом");
+            }
+        }
+
+        return itemCreateDto;
+    }
+
+    private String column(List<String> values, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size() || values.get(index).isBlank()) {
+            return null;
+        }
+
+        return values.get(index).trim();
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            if (quoted && c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                value.append('"');
+                i++;
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+            i++;
+        }
+        if (quoted) {
+            throw new ValidationException("Незакрытые кавычки в строке CSV");
+        }
+        values.add(value.toString());
+
+        return values;
+    }
+}
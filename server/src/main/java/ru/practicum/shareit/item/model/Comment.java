@@ -8,7 +8,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -20,6 +22,8 @@ import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
 
+import static ru.practicum.shareit.util.Const.ID_ALLOCATION_SIZE;
+
 /**
  * Отзывы о вещи после аренды.
  */
@@ -37,7 +41,8 @@ public class Comment {
      * Уникальный идентификатор отзыва.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "comment_id")
     private Long id;
 
@@ -66,4 +71,11 @@ public class Comment {
      */
     @Column(name = "created")
     private LocalDateTime created;
+
+    /**
+     * Версия записи для оптимистической блокировки.
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
@@ -8,7 +8,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -16,14 +18,19 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
+import static ru.practicum.shareit.util.Const.ID_ALLOCATION_SIZE;
+
 /**
  * Вещь, которой можно поделиться.
  */
 @Entity
 @Table(name = "items")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items")
 @Setter
 @Getter
 @ToString
@@ -32,24 +39,36 @@ import ru.practicum.shareit.user.User;
 @NoArgsConstructor
 @Builder
 public class Item {
+    /**
+     * Наибольшая длина названия (ширина колонки {@code items.name}; в шлюзе - {@code ItemCreateDto.NAME_MAX_LENGTH}).
+     */
+    public static final int NAME_MAX_LENGTH = 100;
+
+    /**
+     * Наибольшая длина описания (ширина колонки {@code items.description}; в шлюзе -
+     * {@code ItemCreateDto.DESCRIPTION_MAX_LENGTH}).
+     */
+    public static final int DESCRIPTION_MAX_LENGTH = 255;
+
     /**
      * Уникальный идентификатор вещи.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "item_id")
     private Long id;
 
     /**
      * Краткое название.
      */
-    @Column(name = "name")
+    @Column(name = "name", length = NAME_MAX_LENGTH)
     private String name;
 
     /**
      * Развернутое описание.
      */
-    @Column(name = "description")
+    @Column(name = "description", length = DESCRIPTION_MAX_LENGTH)
     private String description;
 
     /**
@@ -71,4 +90,11 @@ public class Item {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     private ItemRequest request;
+
+    /**
+     * Версия записи для оптимистической блокировки.
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Полнотекстовый поиск вещей средствами PostgreSQL. Использует GIN-индекс {@code ix_items_fulltext}
+ * из {@code db/vendor/postgresql}.
+ */
+@RequiredArgsConstructor
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+    /**
+     * Хранилище вещей.
+     */
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemSearchHit> search(String text, int from, int size) {
+        Map<Long, Double> scores = new LinkedHashMap<>();
+        for (ItemSearchRank rank : itemRepository.searchFullText(text, from, size)) {
+            scores.put(rank.getId(), rank.getScore());
+        }
+        if (scores.isEmpty()) {
+            return List.of();
+        }
+
+        return ItemSearchHit.inRankOrder(scores, itemRepository.findAllById(scores.keySet()));
+    }
+}
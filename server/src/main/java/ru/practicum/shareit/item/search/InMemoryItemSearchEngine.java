@@ -0,0 +1,130 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Основа механизмов поиска по индексу в памяти сервера (один экземпляр сервера).
+ * <p>
+ * Индекс заполняется до запуска веб-сервера, актуализируется после фиксации добавления, изменения и удаления
+ * вещей и может быть перестроен из БД через actuator-эндпоинт {@code itemsearch}. Изменения индекса выполняются
+ * под блокировкой механизма, поиск читает индекс без блокировок. Перестроение читает БД под блокировкой, поэтому
+ * используется {@link ReentrantLock}, а не монитор: виртуальный поток не закрепляется за потоком-носителем
+ * на время запроса.
+ */
+@Slf4j
+public abstract class InMemoryItemSearchEngine implements ItemSearchEngine, SmartInitializingSingleton {
+    /**
+     * Хранилище вещей.
+     */
+    protected final ItemRepository itemRepository;
+
+    /**
+     * Блокировка изменений индекса.
+     */
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    protected InMemoryItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    /**
+     * Заполнение индекса после создания бинов, до запуска веб-сервера: первые запросы поиска не видят пустой
+     * индекс.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Перестроение индекса по всем доступным вещам из БД. Поиск во время перестроения использует прежний индекс.
+     *
+     * @return Количество проиндексированных вещей.
+     */
+    public int rebuild() {
+        updateLock.lock();
+        try {
+            replaceIndex(itemRepository.findAllByAvailableTrue());
+            log.info("{} rebuilt: {} items", getClass().getSimpleName(), size());
+
+            return size();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Количество проиндексированных вещей.
+     */
+    public abstract int size();
+
+    @Override
+    public void indexAfterCommit(Item item) {
+        long itemId = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+
+        runAfterCommit(() -> update(itemId, name, description, available));
+    }
+
+    @Override
+    public void reindexAfterCommit() {
+        runAfterCommit(this::rebuild);
+    }
+
+    @Override
+    public void removeOwnerItemsAfterCommit(long ownerId) {
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(ownerId);
+        if (!itemIds.isEmpty()) {
+            runAfterCommit(() -> itemIds.forEach(itemId -> update(itemId, null, null, false)));
+        }
+    }
+
+    /**
+     * Замена текущего индекса новым, построенным по переданным вещам.
+     *
+     * @param items доступные для аренды вещи.
+     */
+    protected abstract void replaceIndex(List<Item> items);
+
+    /**
+     * Замена данных вещи в текущем индексе. Недоступная вещь удаляется из индекса.
+     *
+     * @param itemId      идентификатор вещи;
+     * @param name        название;
+     * @param description описание;
+     * @param available   доступность для аренды.
+     */
+    protected abstract void put(long itemId, String name, String description, boolean available);
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void update(long itemId, String name, String description, boolean available) {
+        updateLock.lock();
+        try {
+            put(itemId, name, description, available);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+}
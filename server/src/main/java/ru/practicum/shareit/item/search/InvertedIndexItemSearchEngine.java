@@ -0,0 +1,152 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Поиск вещей по инвертированному индексу слов в памяти сервера.
+ * <p>
+ * Название и описание доступных вещей разбиваются на слова в нижнем регистре, для каждого слова хранятся
+ * идентификаторы содержащих его вещей с частотой. Слово запроса сопоставляется со всеми словами индекса,
+ * начинающимися с него, вещь должна содержать все слова запроса. Релевантность - сумма TF-IDF совпавших слов.
+ */
+public class InvertedIndexItemSearchEngine extends InMemoryItemSearchEngine {
+    /**
+     * Текущий индекс.
+     */
+    private volatile Index index = new Index();
+
+    public InvertedIndexItemSearchEngine(ItemRepository itemRepository) {
+        super(itemRepository);
+    }
+
+    @Override
+    public int size() {
+        return index.documents.size();
+    }
+
+    @Override
+    public List<ItemSearchHit> search(String text, int from, int size) {
+        List<String> queryTerms = tokenize(text).stream().distinct().toList();
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        Index current = index;
+        Map<Long, Double> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Long, Double> termScores = current.score(queryTerm);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((itemId, score) -> score + termScores.get(itemId));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        Map<Long, Double> page = new LinkedHashMap<>();
+        scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .skip(from)
+                .limit(size)
+                .forEach(entry -> page.put(entry.getKey(), entry.getValue()));
+        if (page.isEmpty()) {
+            return List.of();
+        }
+
+        return ItemSearchHit.inRankOrder(page, itemRepository.findAllById(page.keySet()));
+    }
+
+    @Override
+    protected void replaceIndex(List<Item> items) {
+        Index rebuilt = new Index();
+        for (Item item : items) {
+            rebuilt.put(item.getId(), item.getName(), item.getDescription(), true);
+        }
+        index = rebuilt;
+    }
+
+    @Override
+    protected void put(long itemId, String name, String description, boolean available) {
+        index.put(itemId, name, description, available);
+    }
+
+    /**
+     * Разбиение текста на слова в нижнем регистре.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Инвертированный индекс: слово -> (идентификатор вещи -> частота слова в вещи).
+     */
+    private static class Index {
+        private final ConcurrentNavigableMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+
+        /**
+         * Частоты слов по идентификатору вещи, нужны для удаления прежних слов при изменении вещи.
+         */
+        private final Map<Long, Map<String, Integer>> documents = new ConcurrentHashMap<>();
+
+        private void put(long itemId, String name, String description, boolean available) {
+            Map<String, Integer> previous = documents.remove(itemId);
+            if (previous != null) {
+                for (String term : previous.keySet()) {
+                    postings.computeIfPresent(term, (key, itemIds) -> {
+                        itemIds.remove(itemId);
+                        return itemIds.isEmpty() ? null : itemIds;
+                    });
+                }
+            }
+            if (!available) {
+                return;
+            }
+
+            Map<String, Integer> frequencies = new HashMap<>();
+            tokenize(name).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+            tokenize(description).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(itemId, frequency));
+            documents.put(itemId, frequencies);
+        }
+
+        /**
+         * Оценки TF-IDF вещей по всем словам индекса, начинающимся со слова запроса.
+         */
+        private Map<Long, Double> score(String queryTerm) {
+            int total = documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+            for (Map<Long, Integer> itemIds : postings.subMap(queryTerm, queryTerm + Character.MAX_VALUE).values()) {
+                if (itemIds.isEmpty()) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (double) total / itemIds.size());
+                itemIds.forEach((itemId, frequency) -> scores.merge(itemId, frequency * idf, Double::sum));
+            }
+
+            return scores;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Механизм поиска доступных для аренды вещей по названию и описанию.
+ */
+public interface ItemSearchEngine {
+
+    /**
+     * Метод поиска вещей, упорядоченных по убыванию релевантности.
+     *
+     * @param text строка поиска;
+     * @param from количество пропускаемых результатов;
+     * @param size максимальное количество результатов.
+     * @return Список найденных вещей с оценкой релевантности.
+     */
+    List<ItemSearchHit> search(String text, int from, int size);
+
+    /**
+     * Метод актуализации поисковых данных по вещи после фиксации текущей транзакции.
+     * Механизмы, читающие данные непосредственно из БД, ничего не делают.
+     *
+     * @param item добавленная или измененная вещь.
+     */
+    default void indexAfterCommit(Item item) {
+    }
+
+    /**
+     * Метод полной актуализации поисковых данных после фиксации текущей транзакции. Используется при массовом
+     * добавлении вещей вместо {@link #indexAfterCommit(Item)} по каждой вещи, чтобы до фиксации не хранить данные
+     * всех вещей. Механизмы, читающие данные непосредственно из БД, ничего не делают.
+     */
+    default void reindexAfterCommit() {
+    }
+
+    /**
+     * Метод удаления вещей владельца из поисковых данных после фиксации текущей транзакции. Вызывается до
+     * удаления владельца: его вещи удаляются каскадно в БД, минуя Hibernate. Механизмы, читающие данные
+     * непосредственно из БД, ничего не делают.
+     *
+     * @param ownerId идентификатор удаляемого владельца.
+     */
+    default void removeOwnerItemsAfterCommit(long ownerId) {
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import ru.practicum.shareit.item.ItemProperties;
+import ru.practicum.shareit.item.ItemRepository;
+
+/**
+ * Выбор механизма поиска вещей по свойству {@code shareit.item.search-engine}. Механизм выбирается по уже
+ * привязанному значению {@link ItemProperties#getSearchEngine()}, поэтому допускаются те же написания, что и при
+ * привязке перечисления ({@code trigram}, {@code full-text} и т.п.).
+ */
+@Configuration
+public class ItemSearchEngineConfig {
+    /**
+     * Имя свойства с механизмом поиска.
+     */
+    private static final String SEARCH_ENGINE_PROPERTY = "shareit.item.search-engine";
+
+    @Bean
+    public ItemSearchEngine itemSearchEngine(ItemProperties itemProperties, ItemRepository itemRepository) {
+        return switch (itemProperties.getSearchEngine()) {
+            case LIKE -> new LikeItemSearchEngine(itemRepository);
+            case FULL_TEXT -> new FullTextItemSearchEngine(itemRepository);
+            case INVERTED -> new InvertedIndexItemSearchEngine(itemRepository);
+            case TRIGRAM -> new TrigramItemSearchEngine(itemRepository);
+        };
+    }
+
+    /**
+     * Условие регистрации бинов, которым нужен механизм поиска с индексом в памяти сервера.
+     */
+    static class InMemoryEngineCondition implements Condition {
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return Binder.get(context.getEnvironment())
+                    .bind(SEARCH_ENGINE_PROPERTY, ItemSearchEngineType.class)
+                    .orElse(ItemSearchEngineType.LIKE)
+                    .isInMemory();
+        }
+    }
+}
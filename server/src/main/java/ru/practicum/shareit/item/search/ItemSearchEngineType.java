@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.search;
+
+/**
+ * Реализация поиска вещей по тексту.
+ */
+public enum ItemSearchEngineType {
+    /**
+     * Поиск подстроки через {@code upper(...) like '%...%'} (полный просмотр таблицы вещей).
+     */
+    LIKE,
+    /**
+     * Полнотекстовый поиск PostgreSQL по {@code tsvector} с GIN-индексом и ранжированием {@code ts_rank}.
+     */
+    FULL_TEXT,
+    /**
+     * Инвертированный индекс в памяти сервера с ранжированием TF-IDF (один экземпляр сервера).
+     */
+    INVERTED,
+    /**
+     * Поиск подстроки по триграммному индексу в памяти сервера с проверкой кандидатов (один экземпляр сервера).
+     */
+    TRIGRAM;
+
+    /**
+     * Хранит ли механизм индекс в памяти сервера ({@link InMemoryItemSearchEngine}).
+     *
+     * @return true для механизмов с индексом в памяти.
+     */
+    public boolean isInMemory() {
+        return this == INVERTED || this == TRIGRAM;
+    }
+}
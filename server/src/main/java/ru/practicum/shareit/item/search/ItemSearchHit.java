@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Найденная вещь с оценкой релевантности.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemSearchHit {
+    /**
+     * Найденная вещь.
+     */
+    private final Item item;
+
+    /**
+     * Оценка релевантности, {@code null} для механизмов без ранжирования.
+     */
+    private final Double score;
+
+    /**
+     * Метод сопоставления загруженных вещей с оценками в порядке ранжирования.
+     *
+     * @param scores оценки по идентификаторам вещей в порядке убывания релевантности;
+     * @param items  загруженные вещи в произвольном порядке.
+     * @return Список найденных вещей в порядке ранжирования.
+     */
+    static List<ItemSearchHit> inRankOrder(Map<Long, Double> scores, List<Item> items) {
+        Map<Long, Item> itemsById = items.stream().collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<ItemSearchHit> hits = new ArrayList<>(scores.size());
+        scores.forEach((itemId, score) -> {
+            Item item = itemsById.get(itemId);
+            if (item != null) {
+                hits.add(new ItemSearchHit(item, score));
+            }
+        });
+
+        return hits;
+    }
+}
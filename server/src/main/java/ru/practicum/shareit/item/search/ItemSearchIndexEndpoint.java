@@ -0,0 +1,37 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator-эндпоинт индекса вещей в памяти сервера: {@code GET /actuator/itemsearch} - размер индекса,
+ * {@code POST /actuator/itemsearch} - перестроение индекса из БД.
+ */
+@Component
+@Endpoint(id = "itemsearch")
+@Conditional(ItemSearchEngineConfig.InMemoryEngineCondition.class)
+public class ItemSearchIndexEndpoint {
+    /**
+     * Поиск по индексу в памяти сервера.
+     */
+    private final InMemoryItemSearchEngine searchEngine;
+
+    public ItemSearchIndexEndpoint(ItemSearchEngine searchEngine) {
+        this.searchEngine = (InMemoryItemSearchEngine) searchEngine;
+    }
+
+    @ReadOperation
+    public Map<String, Integer> size() {
+        return Map.of("indexed", searchEngine.size());
+    }
+
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        return Map.of("indexed", searchEngine.rebuild());
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.search;
+
+/**
+ * Проекция результата ранжирующего поиска в БД: идентификатор вещи и оценка релевантности.
+ */
+public interface ItemSearchRank {
+    Long getId();
+
+    Double getScore();
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Поиск вещей по подстроке в названии или описании без ранжирования.
+ */
+@RequiredArgsConstructor
+public class LikeItemSearchEngine implements ItemSearchEngine {
+    /**
+     * Хранилище вещей.
+     */
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemSearchHit> search(String text, int from, int size) {
+        return itemRepository.search(text, from, size).stream()
+                .map(item -> new ItemSearchHit(item, null))
+                .toList();
+    }
+}
@@ -0,0 +1,166 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Поиск подстроки в названии или описании вещи по триграммному индексу в памяти сервера.
+ * <p>
+ * Семантика совпадает с {@link ItemRepository#search}: регистронезависимое вхождение строки поиска в название
+ * или описание доступной вещи, результаты упорядочены по идентификатору. Индекс хранит для каждой триграммы
+ * (трех подряд идущих символов) идентификаторы вещей, содержащих ее. Кандидатами считаются вещи, содержащие все
+ * триграммы строки поиска, затем вхождение проверяется по тексту. Строки короче трех символов проверяются по всем
+ * вещам индекса. В PostgreSQL ту же роль для режима {@link ItemSearchEngineType#LIKE} выполняют GIN-индексы
+ * {@code pg_trgm} из {@code db/vendor/postgresql}.
+ */
+public class TrigramItemSearchEngine extends InMemoryItemSearchEngine {
+    /**
+     * Длина триграммы.
+     */
+    private static final int GRAM = 3;
+
+    /**
+     * Текущий индекс.
+     */
+    private volatile Index index = new Index();
+
+    public TrigramItemSearchEngine(ItemRepository itemRepository) {
+        super(itemRepository);
+    }
+
+    @Override
+    public int size() {
+        return index.documents.size();
+    }
+
+    @Override
+    public List<ItemSearchHit> search(String text, int from, int size) {
+        String query = normalize(text);
+        Index current = index;
+
+        Collection<Long> candidates = current.documents.keySet();
+        List<Set<Long>> postings = null;
+        if (query.length() >= GRAM) {
+            postings = current.postings(query);
+            if (postings == null) {
+                return List.of();
+            }
+            candidates = postings.getFirst();
+        }
+
+        List<Set<Long>> required = postings;
+        Map<Long, Double> page = new LinkedHashMap<>();
+        candidates.stream()
+                .filter(itemId -> required == null || required.stream().allMatch(itemIds -> itemIds.contains(itemId)))
+                .filter(itemId -> current.matches(itemId, query))
+                .sorted()
+                .skip(from)
+                .limit(size)
+                .forEach(itemId -> page.put(itemId, null));
+        if (page.isEmpty()) {
+            return List.of();
+        }
+
+        return ItemSearchHit.inRankOrder(page, itemRepository.findAllById(page.keySet()));
+    }
+
+    @Override
+    protected void replaceIndex(List<Item> items) {
+        Index rebuilt = new Index();
+        for (Item item : items) {
+            rebuilt.put(item.getId(), item.getName(), item.getDescription(), true);
+        }
+        index = rebuilt;
+    }
+
+    @Override
+    protected void put(long itemId, String name, String description, boolean available) {
+        index.put(itemId, name, description, available);
+    }
+
+    /**
+     * Приведение текста к верхнему регистру, как {@code upper(...)} в запросе к БД.
+     */
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Триграммный индекс: триграмма -> идентификаторы вещей, в названии или описании которых она встречается.
+     */
+    private static class Index {
+        private final Map<String, Set<Long>> trigrams = new ConcurrentHashMap<>();
+
+        /**
+         * Название и описание в верхнем регистре по идентификатору вещи для проверки кандидатов.
+         */
+        private final Map<Long, String[]> documents = new ConcurrentHashMap<>();
+
+        private void put(long itemId, String name, String description, boolean available) {
+            String[] previous = documents.remove(itemId);
+            if (previous != null) {
+                for (String field : previous) {
+                    forEachTrigram(field, trigram -> trigrams.computeIfPresent(trigram, (key, itemIds) -> {
+                        itemIds.remove(itemId);
+                        return itemIds.isEmpty() ? null : itemIds;
+                    }));
+                }
+            }
+            if (!available) {
+                return;
+            }
+
+            String[] fields = {normalize(name), normalize(description)};
+            for (String field : fields) {
+                forEachTrigram(field, trigram ->
+                        trigrams.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(itemId));
+            }
+            documents.put(itemId, fields);
+        }
+
+        /**
+         * Множества вещей по всем триграммам строки, первым - наименьшее.
+         *
+         * @return Множества вещей или null, если какой-либо триграммы нет в индексе.
+         */
+        private List<Set<Long>> postings(String query) {
+            Set<String> queryTrigrams = new HashSet<>();
+            forEachTrigram(query, queryTrigrams::add);
+
+            List<Set<Long>> result = new ArrayList<>(queryTrigrams.size());
+            for (String trigram : queryTrigrams) {
+                Set<Long> itemIds = trigrams.get(trigram);
+                if (itemIds == null) {
+                    return null;
+                }
+                result.add(itemIds);
+            }
+            result.sort(Comparator.comparingInt(Set::size));
+
+            return result;
+        }
+
+        private boolean matches(long itemId, String query) {
+            String[] fields = documents.get(itemId);
+            return fields != null && (fields[0].contains(query) || fields[1].contains(query));
+        }
+
+        private static void forEachTrigram(String text, Consumer<String> action) {
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                action.accept(text.substring(i, i + GRAM));
+            }
+        }
+    }
+}
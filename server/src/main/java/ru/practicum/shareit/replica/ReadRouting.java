@@ -0,0 +1,100 @@
+package ru.practicum.shareit.replica;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.function.Supplier;
+
+/**
+ * Признак текущего потока: читать только с основной базы (пользователь недавно изменял данные).
+ */
+public class ReadRouting {
+    /**
+     * Признак чтения с основной базы.
+     */
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Проверка признака чтения с основной базы в текущем потоке.
+     *
+     * @return true, если чтение с реплик запрещено.
+     */
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+
+    /**
+     * Установка признака чтения с основной базы в текущем потоке.
+     *
+     * @return Прежнее значение признака для {@link #restore(Boolean)}.
+     */
+    static Boolean requirePrimary() {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+
+        return previous;
+    }
+
+    /**
+     * Перенос признака текущего потока в задачу, выполняемую в другом потоке.
+     *
+     * @param task задача.
+     * @param <T>  тип результата.
+     * @return Задача, выполняемая с признаком потока, в котором она создана.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Boolean primaryRequired = PRIMARY_REQUIRED.get();
+        if (primaryRequired == null) {
+            return task;
+        }
+
+        return () -> {
+            Boolean previous = PRIMARY_REQUIRED.get();
+            PRIMARY_REQUIRED.set(primaryRequired);
+            try {
+                return task.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Перенос признака текущего потока в тело ответа, которое записывается потоком асинхронной обработки
+     * запроса уже после выхода из обработчика и фильтров.
+     *
+     * @param body тело ответа.
+     * @return Тело ответа, записываемое с признаком потока, в котором оно создано.
+     */
+    public static StreamingResponseBody propagate(StreamingResponseBody body) {
+        Boolean primaryRequired = PRIMARY_REQUIRED.get();
+        if (primaryRequired == null) {
+            return body;
+        }
+
+        return outputStream -> {
+            Boolean previous = PRIMARY_REQUIRED.get();
+            PRIMARY_REQUIRED.set(primaryRequired);
+            try {
+                body.writeTo(outputStream);
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Восстановление прежнего значения признака в текущем потоке.
+     *
+     * @param previous прежнее значение.
+     */
+    static void restore(Boolean previous) {
+        if (previous == null) {
+            PRIMARY_REQUIRED.remove();
+        } else {
+            PRIMARY_REQUIRED.set(previous);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.util.Const;
+
+import java.io.IOException;
+
+/**
+ * Чтение своих изменений: после успешного изменяющего запроса пользователя его запросы в течение
+ * {@link ReplicaProperties#getReadYourWritesWindow()} читают с основной базы, а не с отстающих реплик.
+ * Пользователь определяется по заголовку {@link Const#SHARER_USER_ID}.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    /**
+     * Пользователи, недавно изменявшие данные.
+     */
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(ReplicaProperties properties) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getReadYourWritesWindow())
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long userId = getUserId(request);
+        if (userId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())) {
+            if (recentWriters.getIfPresent(userId) == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            Boolean previous = ReadRouting.requirePrimary();
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                ReadRouting.restore(previous);
+            }
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+        if (response.getStatus() < HttpServletResponse.SC_BAD_REQUEST) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    private static Long getUserId(HttpServletRequest request) {
+        String header = request.getHeader(Const.SHARER_USER_ID);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.replica;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Настройки чтения с реплик базы данных (префикс {@code shareit.replica}). Без адресов реплик все запросы
+ * выполняются на основной базе.
+ */
+@ConfigurationProperties(prefix = "shareit.replica")
+@Getter
+@Setter
+public class ReplicaProperties {
+    /**
+     * Адреса JDBC реплик. Учетная запись и драйвер берутся из {@code spring.datasource}.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * Наибольший размер пула соединений каждой реплики.
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * Наибольшее допустимое отставание реплики; реплика с большим отставанием не используется до следующей проверки.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Период проверки отставания реплик.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    /**
+     * Запрос отставания реплики в секундах. Если журнал воспроизведен полностью, отставание нулевое
+     * (иначе простаивающая основная база выглядела бы как отставание реплики).
+     */
+    private String lagQuery = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 " +
+            "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+    /**
+     * Время после изменяющего запроса пользователя, в течение которого его чтения выполняются на основной базе.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(10);
+}
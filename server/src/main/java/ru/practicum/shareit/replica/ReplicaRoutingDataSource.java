@@ -0,0 +1,157 @@
+package ru.practicum.shareit.replica;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Источник соединений для транзакций только для чтения: реплики по кругу, а при недоступности или отставании
+ * всех реплик, а также для пользователя, недавно изменявшего данные ({@link ReadRouting}), - основная база.
+ * <p>
+ * Отставание реплик проверяется в фоне запросом {@link ReplicaProperties#getLagQuery()}; реплика, не ответившая
+ * на проверку или не выдавшая соединение, исключается до следующей успешной проверки.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    /**
+     * Основная база.
+     */
+    private final DataSource primary;
+
+    /**
+     * Реплики.
+     */
+    private final List<Replica> replicas;
+
+    /**
+     * Наибольшее допустимое отставание реплики в секундах.
+     */
+    private final double maxLagSeconds;
+
+    /**
+     * Запрос отставания реплики.
+     */
+    private final String lagQuery;
+
+    /**
+     * Счетчик выбора реплик по кругу.
+     */
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Поток проверки отставания реплик.
+     */
+    private final ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReplicaProperties properties) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagSeconds = properties.getMaxLag().toMillis() / 1000.0;
+        this.lagQuery = properties.getLagQuery();
+        this.lagChecker = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("replica-lag-check-"));
+        long interval = Math.max(1, properties.getLagCheckInterval().toMillis());
+        this.lagChecker.scheduleWithFixedDelay(this::checkLag, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadRouting.isPrimaryRequired()) {
+            int size = replicas.size();
+            int start = Math.floorMod(next.getAndIncrement(), size);
+            for (int i = 0; i < size; i++) {
+                int index = (start + i) % size;
+                Replica replica = replicas.get(index);
+                if (replica.available) {
+                    try {
+                        return replica.dataSource.getConnection();
+                    } catch (SQLException e) {
+                        replica.available = false;
+                        log.warn("Реплика {} исключена: нет соединения ({})", index, e.getMessage());
+                    }
+                }
+            }
+        }
+
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Соединения с реплик выдаются только под общей учетной записью");
+    }
+
+    /**
+     * Проверка отставания всех реплик.
+     */
+    void checkLag() {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            boolean available;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.MAX_VALUE;
+                available = lagSeconds <= maxLagSeconds;
+                if (!available && replica.available) {
+                    log.warn("Реплика {} исключена: отставание {} с", i, lagSeconds);
+                }
+            } catch (SQLException | RuntimeException e) {
+                available = false;
+                if (replica.available) {
+                    log.warn("Реплика {} исключена: ошибка проверки отставания ({})", i, e.getMessage());
+                }
+            }
+            if (available && !replica.available) {
+                log.info("Реплика {} доступна для чтения", i);
+            }
+            replica.available = available;
+        }
+    }
+
+    /**
+     * Количество реплик, доступных для чтения.
+     *
+     * @return Количество реплик.
+     */
+    public long getAvailableReplicas() {
+        return replicas.stream().filter(replica -> replica.available).count();
+    }
+
+    @Override
+    public void close() throws Exception {
+        lagChecker.shutdownNow();
+        lagChecker.awaitTermination(Duration.ofSeconds(5).toMillis(), TimeUnit.MILLISECONDS);
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Реплика и ее доступность по последней проверке.
+     */
+    private static final class Replica {
+        private final DataSource dataSource;
+
+        private volatile boolean available;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
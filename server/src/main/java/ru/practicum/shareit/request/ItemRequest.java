@@ -7,7 +7,9 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -15,10 +17,14 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
 
+import static ru.practicum.shareit.util.Const.ID_ALLOCATION_SIZE;
+
 /**
  * Запрос вещи.
  */
@@ -31,12 +37,14 @@ import java.time.LocalDateTime;
 @Builder
 @Entity
 @Table(name = "requests")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "requests")
 public class ItemRequest {
     /**
      * Уникальный идентификатор запроса.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "request_id")
     private Long id;
 
@@ -58,4 +66,11 @@ public class ItemRequest {
      */
     @Column(name = "created")
     private LocalDateTime created;
+
+    /**
+     * Версия записи для оптимистической блокировки.
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
 }
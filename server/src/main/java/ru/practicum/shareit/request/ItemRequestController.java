@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,13 +10,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.util.ETags;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static ru.practicum.shareit.util.Const.DEFAULT_PAGE_SIZE;
 import static ru.practicum.shareit.util.Const.SHARER_USER_ID;
 
 /**
@@ -51,30 +57,54 @@ public class ItemRequestController {
     }
 
     /**
-     * Метод получения своих запросов вещей.
+     * Метод получения страницы своих запросов вещей.
      *
-     * @param userId идентификатор пользователя, запросившего вещи.
+     * @param userId        идентификатор пользователя, запросившего вещи;
+     * @param cursorCreated дата создания последнего запроса предыдущей страницы;
+     * @param cursorId      идентификатор последнего запроса предыдущей страницы;
+     * @param size          размер страницы.
      * @return Список данных по запросах вещей с ответами.
      */
     @GetMapping
-    public List<ItemRequestDto> getRequestsByRequestorId(@RequestHeader(SHARER_USER_ID) long userId) {
-        log.info("==> getRequestsByRequestorId userId = {}", userId);
-        List<ItemRequestDto> itemRequestDtos = itemRequestService.getRequestsByRequestorId(userId);
+    public List<ItemRequestDto> getRequestsByRequestorId(@RequestHeader(SHARER_USER_ID) long userId,
+                                                         @RequestParam(name = "cursorCreated", required = false)
+                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                         LocalDateTime cursorCreated,
+                                                         @RequestParam(name = "cursorId", required = false)
+                                                         Long cursorId,
+                                                         @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE)
+                                                         int size) {
+        log.info("==> getRequestsByRequestorId userId = {}, cursorCreated = {}, cursorId = {}, size = {}", userId,
+                cursorCreated, cursorId, size);
+        List<ItemRequestDto> itemRequestDtos = itemRequestService.getRequestsByRequestorId(userId, cursorCreated,
+                cursorId, size);
         log.info("<== getRequestsByRequestorId {}", itemRequestDtos);
 
         return itemRequestDtos;
     }
 
     /**
-     * Метод получения запросов вещей от других пользователей.
+     * Метод получения страницы запросов вещей от других пользователей.
      *
-     * @param userId идентификатор пользователя, ищущего запросы.
+     * @param userId        идентификатор пользователя, ищущего запросы;
+     * @param cursorCreated дата создания последнего запроса предыдущей страницы;
+     * @param cursorId      идентификатор последнего запроса предыдущей страницы;
+     * @param size          размер страницы.
      * @return Список данных по запросах вещей с ответами.
      */
     @GetMapping("/all")
-    public List<ItemRequestDto> getRequestsByOtherUsers(@RequestHeader(SHARER_USER_ID) long userId) {
-        log.info("==> getRequestsByOtherUsers userId = {}", userId);
-        List<ItemRequestDto> itemRequestDtos = itemRequestService.getRequestsByOtherUsers(userId);
+    public List<ItemRequestDto> getRequestsByOtherUsers(@RequestHeader(SHARER_USER_ID) long userId,
+                                                        @RequestParam(name = "cursorCreated", required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime cursorCreated,
+                                                        @RequestParam(name = "cursorId", required = false)
+                                                        Long cursorId,
+                                                        @RequestParam(name = "size", defaultValue = DEFAULT_PAGE_SIZE)
+                                                        int size) {
+        log.info("==> getRequestsByOtherUsers userId = {}, cursorCreated = {}, cursorId = {}, size = {}", userId,
+                cursorCreated, cursorId, size);
+        List<ItemRequestDto> itemRequestDtos = itemRequestService.getRequestsByOtherUsers(userId, cursorCreated,
+                cursorId, size);
         log.info("<== getRequestsByOtherUsers {}", itemRequestDtos);
 
         return itemRequestDtos;
@@ -83,15 +113,22 @@ public class ItemRequestController {
     /**
      * Метод получения данных об одном запросе вещи.
      *
-     * @param userId    идентификатор пользователя, ищущего запрос.
-     * @param requestId идентификатор интересующего запроса.
-     * @return Данные по запросу вещи с ответами на него.
+     * @param userId     идентификатор пользователя, ищущего запрос.
+     * @param requestId  идентификатор интересующего запроса.
+     * @param webRequest текущий запрос для проверки If-None-Match.
+     * @return Данные по запросу вещи с ответами на него или null, если у клиента актуальная копия (ответ 304).
      */
     @GetMapping("/{requestId}")
     public ItemRequestDto getById(@RequestHeader(SHARER_USER_ID) long userId,
-                                  @PathVariable long requestId) {
+                                  @PathVariable long requestId,
+                                  ServletWebRequest webRequest) {
         log.info("==> getById userId = {}, requestId = {}", userId, requestId);
-        ItemRequestDto itemRequestDto = itemRequestService.getById(userId, requestId);
+        ItemRequestDto itemRequestDto = itemRequestService.getById(userId, requestId,
+                etag -> ETags.checkNotModified(webRequest, etag));
+        if (itemRequestDto == null) {
+            log.info("<== getById not modified");
+            return null;
+        }
         log.info("<== getById {}", itemRequestDto);
 
         return itemRequestDto;
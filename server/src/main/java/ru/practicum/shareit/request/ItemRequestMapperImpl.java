@@ -7,6 +7,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Component
@@ -29,7 +30,8 @@ public class ItemRequestMapperImpl implements ItemRequestMapper {
     }
 
     /**
-     * Метод использования входных данных при создании запроса вещи.
+     * Метод использования входных данных при создании запроса вещи. Дата создания округляется до микросекунд,
+     * как ее хранит база данных, чтобы она совпадала с курсором страницы, полученным из ответа на добавление.
      *
      * @param itemRequestCreateDto объект с данными для создания запроса вещи;
      * @param requestor            пользователь, запрашивающий вещь для использования.
@@ -39,7 +41,7 @@ public class ItemRequestMapperImpl implements ItemRequestMapper {
         return ItemRequest.builder()
                 .description(itemRequestCreateDto.getDescription())
                 .requestor(requestor)
-                .created(LocalDateTime.now())
+                .created(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
                 .build();
     }
 }
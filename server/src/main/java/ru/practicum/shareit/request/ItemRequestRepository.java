@@ -1,18 +1,56 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    /**
+     * Условие отбора запросов, следующих за курсором страницы. Граница по дате создания задает диапазон
+     * поиска по индексам запросов с датой создания, так что страница читается с места курсора.
+     * Первая страница запрашивается отдельным запросом без курсора.
+     */
+    String BEFORE_REQUEST_CURSOR = "and r.created <= :cursorCreated " +
+            "and (r.created < :cursorCreated or r.id < :cursorId) ";
 
-    List<ItemRequest> findByRequestorIdOrderByCreatedDesc(long requestorId);
+    /**
+     * Порядок запросов в страницах: от новых к старым.
+     */
+    String REQUEST_PAGE_ORDER = "order by r.created desc, r.id desc";
+
+    @Query(value = "select r " +
+            "from ItemRequest r " +
+            "where r.requestor.id = :requestorId " +
+            REQUEST_PAGE_ORDER)
+    List<ItemRequest> findByRequestorId(@Param("requestorId") long requestorId, Limit limit);
+
+    @Query(value = "select r " +
+            "from ItemRequest r " +
+            "where r.requestor.id = :requestorId " +
+            BEFORE_REQUEST_CURSOR +
+            REQUEST_PAGE_ORDER)
+    List<ItemRequest> findByRequestorIdBefore(@Param("requestorId") long requestorId,
+                                              @Param("cursorCreated") LocalDateTime cursorCreated,
+                                              @Param("cursorId") Long cursorId,
+                                              Limit limit);
+
+    @Query(value = "select r " +
+            "from ItemRequest r " +
+            "where r.requestor.id <> :requestorId " +
+            REQUEST_PAGE_ORDER)
+    List<ItemRequest> findByOtherUsers(@Param("requestorId") long requestorId, Limit limit);
 
     @Query(value = "select r " +
             "from ItemRequest r " +
             "where r.requestor.id <> :requestorId " +
-            "order by r.created desc")
-    List<ItemRequest> findByOtherUsers(@Param("requestorId") long requestorId);
+            BEFORE_REQUEST_CURSOR +
+            REQUEST_PAGE_ORDER)
+    List<ItemRequest> findByOtherUsersBefore(@Param("requestorId") long requestorId,
+                                             @Param("cursorCreated") LocalDateTime cursorCreated,
+                                             @Param("cursorId") Long cursorId,
+                                             Limit limit);
 }
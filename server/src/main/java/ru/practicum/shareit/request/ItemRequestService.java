@@ -3,15 +3,21 @@ package ru.practicum.shareit.request;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Predicate;
 
 public interface ItemRequestService {
 
     ItemRequestDto add(ItemRequestCreateDto itemRequestCreateDto);
 
-    List<ItemRequestDto> getRequestsByRequestorId(long requestorId);
+    List<ItemRequestDto> getRequestsByRequestorId(long requestorId, LocalDateTime cursorCreated, Long cursorId,
+                                                  int size);
 
-    List<ItemRequestDto> getRequestsByOtherUsers(long requestorId);
+    List<ItemRequestDto> getRequestsByOtherUsers(long requestorId, LocalDateTime cursorCreated, Long cursorId,
+                                                 int size);
 
     ItemRequestDto getById(long userId, long requestId);
+
+    ItemRequestDto getById(long userId, long requestId, Predicate<String> notModified);
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -12,13 +13,20 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceCache;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.ETags;
+import ru.practicum.shareit.util.InListLoader;
+import ru.practicum.shareit.util.Paging;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 @Service
 @AllArgsConstructor
@@ -40,6 +48,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
      */
     private final UserRepository userRepository;
 
+    /**
+     * Кэш проверки существования пользователей.
+     */
+    private final UserExistenceCache userExistenceCache;
+
     /**
      * Преобразователь данных ввода-вывода по запросам вещи.
      */
@@ -50,6 +63,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
      */
     private final ItemMapper itemMapper;
 
+    /**
+     * Загрузка по длинным спискам идентификаторов запросов.
+     */
+    private final InListLoader inListLoader;
+
     /**
      * Метод добавления запроса вещи.
      *
@@ -67,29 +85,45 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     /**
-     * Метод получения своих запросов вещей с ответами на них.
+     * Метод получения страницы своих запросов вещей с ответами на них, от новых к старым.
      *
-     * @param requestorId идентификатор пользователя, запросившего вещи.
+     * @param requestorId   идентификатор пользователя, запросившего вещи;
+     * @param cursorCreated дата создания последнего запроса предыдущей страницы;
+     * @param cursorId      идентификатор последнего запроса предыдущей страницы;
+     * @param size          размер страницы.
      * @return Список данных по запросах вещей с ответами.
      */
     @Override
-    public List<ItemRequestDto> getRequestsByRequestorId(long requestorId) {
+    public List<ItemRequestDto> getRequestsByRequestorId(long requestorId, LocalDateTime cursorCreated, Long cursorId,
+                                                         int size) {
         checkUserId(requestorId);
+        Paging.checkSize(size);
 
-        return getRequestDtos(itemRequestRepository.findByRequestorIdOrderByCreatedDesc(requestorId));
+        Limit limit = Limit.of(size);
+        return getRequestDtos(cursorCreated == null
+                ? itemRequestRepository.findByRequestorId(requestorId, limit)
+                : itemRequestRepository.findByRequestorIdBefore(requestorId, cursorCreated, cursorId, limit));
     }
 
     /**
-     * Метод получения запросов вещей от других пользователей.
+     * Метод получения страницы запросов вещей от других пользователей, от новых к старым.
      *
-     * @param requestorId идентификатор пользователя, ищущего запросы.
+     * @param requestorId   идентификатор пользователя, ищущего запросы;
+     * @param cursorCreated дата создания последнего запроса предыдущей страницы;
+     * @param cursorId      идентификатор последнего запроса предыдущей страницы;
+     * @param size          размер страницы.
      * @return Список данных по запросах вещей с ответами.
      */
     @Override
-    public List<ItemRequestDto> getRequestsByOtherUsers(long requestorId) {
+    public List<ItemRequestDto> getRequestsByOtherUsers(long requestorId, LocalDateTime cursorCreated, Long cursorId,
+                                                        int size) {
         checkUserId(requestorId);
+        Paging.checkSize(size);
 
-        return getRequestDtos(itemRequestRepository.findByOtherUsers(requestorId));
+        Limit limit = Limit.of(size);
+        return getRequestDtos(cursorCreated == null
+                ? itemRequestRepository.findByOtherUsers(requestorId, limit)
+                : itemRequestRepository.findByOtherUsersBefore(requestorId, cursorCreated, cursorId, limit));
     }
 
     /**
@@ -101,34 +135,64 @@ public class ItemRequestServiceImpl implements ItemRequestService {
      */
     @Override
     public ItemRequestDto getById(long userId, long requestId) {
+        return getById(userId, requestId, etag -> false);
+    }
+
+    /**
+     * Метод получения данных об одном запросе вещи с проверкой ETag. Запрос и вещи-ответы загружаются
+     * один раз; ETag строится по версиям запроса и вещей-ответов.
+     *
+     * @param userId      идентификатор пользователя, ищущего запрос.
+     * @param requestId   идентификатор интересующего запроса.
+     * @param notModified проверка ETag: {@code true}, если у клиента актуальная версия данных.
+     * @return Данные по запросу вещи с ответами на него или {@code null}, если данные не изменились.
+     */
+    @Override
+    public ItemRequestDto getById(long userId, long requestId, Predicate<String> notModified) {
         checkUserId(userId);
         ItemRequest request = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Запрос вещи не найден по requestId = " + requestId));
+        List<Item> items = itemRepository.getItemsByRequestId(request.getId()).stream()
+                .sorted(Comparator.comparing(Item::getId))
+                .toList();
 
-        return itemRequestMapper.toItemRequestDto(request,
-                itemMapper.toItemResponseDtoList(itemRepository.getItemsByRequestId(request.getId())));
+        List<String> itemStamps = items.stream()
+                .map(item -> item.getId() + ":" + item.getVersion())
+                .toList();
+        if (notModified.test(ETags.of(request.getId(), request.getVersion(), itemStamps))) {
+            return null;
+        }
+
+        return itemRequestMapper.toItemRequestDto(request, itemMapper.toItemResponseDtoList(items));
     }
 
     /**
      * Метод проверки наличия указанного пользователя в хранилище.
      *
      * @param userId проверяемый идентификатор пользователя.
-     * @return Найденный пользователь
+     * @return Ссылка на найденного пользователя (загружается при обращении к атрибутам)
      */
     private User checkUserId(long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден по userId = " + userId));
+        if (!userExistenceCache.exists(userId)) {
+            throw new NotFoundException("Пользователь не найден по userId = " + userId);
+        }
+
+        return userRepository.getReferenceById(userId);
     }
 
     /**
-     * Метод получения данных о запросах вещей с описанием самих вещей.
+     * Метод получения данных о запросах вещей с описанием самих вещей. Вещи-ответы загружаются
+     * только для переданных запросов, то есть для одной страницы.
      *
      * @param requests список запросов вещей для обработки.
      * @return Список данных о запросах вещей
      */
     private List<ItemRequestDto> getRequestDtos(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
         List<Long> requestIds = requests.stream().map(ItemRequest::getId).toList();
-        List<Item> items = itemRepository.getItemsByRequestIds(requestIds);
+        List<Item> items = inListLoader.load(requestIds, itemRepository::getItemsByRequestIds);
 
         Map<Long, List<ItemResponseDto>> requestItems = new HashMap<>();
         for (Item item : items) {
@@ -12,9 +12,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
+import ru.practicum.shareit.util.ETags;
 
 /**
  * Контроллер работы с пользователями.
@@ -66,13 +68,18 @@ public class UserController {
     /**
      * Метод получения данных о пользователе.
      *
-     * @param userId идентификатор пользователя;
-     * @return Данные по найденному пользователю.
+     * @param userId     идентификатор пользователя;
+     * @param webRequest текущий запрос для проверки If-None-Match;
+     * @return Данные по найденному пользователю или null, если у клиента актуальная копия (ответ 304).
      */
     @GetMapping("/{userId}")
-    public UserDto get(@PathVariable long userId) {
+    public UserDto get(@PathVariable long userId, ServletWebRequest webRequest) {
         log.info("==> get by userId = {}", userId);
-        UserDto userDto = userService.getById(userId);
+        UserDto userDto = userService.getById(userId, etag -> ETags.checkNotModified(webRequest, etag));
+        if (userDto == null) {
+            log.info("<== not modified");
+            return null;
+        }
         log.info("<== {}", userDto);
 
         return userDto;
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Кэш проверки существования пользователей по идентификатору из заголовка запроса.
+ * <p>
+ * Кэшируются только найденные пользователи, так что только что добавленный пользователь сразу становится
+ * доступен. Записи удаляются при изменении и удалении пользователя в {@link UserServiceImpl}, размер и время
+ * жизни ограничиваются настройкой {@code spring.cache.caffeine.spec}.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserExistenceCache {
+    /**
+     * Имя кэша.
+     */
+    public static final String CACHE_NAME = "userExists";
+
+    /**
+     * Хранилище пользователей.
+     */
+    private final UserRepository userRepository;
+
+    /**
+     * Проверка существования пользователя.
+     *
+     * @param userId идентификатор пользователя.
+     * @return true, если пользователь существует.
+     */
+    @Cacheable(cacheNames = CACHE_NAME, unless = "!#result")
+    public boolean exists(long userId) {
+        return userRepository.existsById(userId);
+    }
+}
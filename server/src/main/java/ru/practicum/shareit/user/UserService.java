@@ -4,6 +4,8 @@ import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
+import java.util.function.Predicate;
+
 public interface UserService {
     UserDto add(UserCreateDto newUser);
 
@@ -11,5 +13,7 @@ public interface UserService {
 
     UserDto getById(long userId);
 
+    UserDto getById(long userId, Predicate<String> notModified);
+
     void delete(long userId);
 }
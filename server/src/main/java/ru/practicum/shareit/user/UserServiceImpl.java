@@ -1,12 +1,26 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
+import ru.practicum.shareit.util.ETags;
+import ru.practicum.shareit.util.RetryOnConflict;
+
+import java.util.function.Predicate;
 
 /**
  * Сервис работы с пользователями.
@@ -25,6 +39,21 @@ public class UserServiceImpl implements UserService {
      */
     private final UserMapperImpl userMapper;
 
+    /**
+     * Фабрика менеджеров сущностей для очистки кэша второго уровня.
+     */
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Индекс интервалов бронирований в памяти сервера.
+     */
+    private final BookingIntervalIndex bookingIntervalIndex;
+
+    /**
+     * Механизм поиска вещей.
+     */
+    private final ItemSearchEngine itemSearchEngine;
+
     /**
      * Метод добавления пользователя.
      *
@@ -46,6 +75,8 @@ public class UserServiceImpl implements UserService {
      * @return Выходные данные по измененному пользователю.
      */
     @Override
+    @CacheEvict(cacheNames = UserExistenceCache.CACHE_NAME, key = "#userUpdateDto.id")
+    @RetryOnConflict
     public UserDto update(UserUpdateDto userUpdateDto) {
         User userForUpdate = userRepository.findById(userUpdateDto.getId())
                 .orElseThrow(() -> new NotFoundException("Пользователь не найден по id = " + userUpdateDto.getId()));
@@ -65,19 +96,48 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public UserDto getById(long userId) {
+        return getById(userId, etag -> false);
+    }
+
+    /**
+     * Метод получения данных по пользователю с проверкой ETag: пользователь загружается один раз,
+     * из него строятся и ETag, и ответ.
+     *
+     * @param userId      идентификатор пользователя;
+     * @param notModified проверка ETag: {@code true}, если у клиента актуальная версия данных.
+     * @return Выходные данные о пользователе или {@code null}, если данные не изменились.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserDto getById(long userId, Predicate<String> notModified) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь не найден по userId = " + userId));
 
-        return userMapper.toUserDto(user);
+        return notModified.test(ETags.of(user.getId(), user.getVersion())) ? null : userMapper.toUserDto(user);
     }
 
     /**
-     * Метод удаления пользователя.
+     * Метод удаления пользователя. Вещи и запросы пользователя удаляются каскадно в базе, минуя Hibernate,
+     * поэтому после фиксации их регионы и результаты запросов в кэше второго уровня очищаются, а из индекса
+     * интервалов бронирований и из поисковых данных удаляются брони пользователя и его вещи.
      *
      * @param userId идентификатор пользователя.
      */
     @Override
+    @CacheEvict(cacheNames = UserExistenceCache.CACHE_NAME, key = "#userId")
     public void delete(long userId) {
+        bookingIntervalIndex.releaseUserBookingsAfterCommit(userId);
+        itemSearchEngine.removeOwnerItemsAfterCommit(userId);
         userRepository.deleteById(userId);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+                cache.evictEntityData(Item.class);
+                cache.evictEntityData(ItemRequest.class);
+                cache.evictQueryRegions();
+            }
+        });
     }
 }
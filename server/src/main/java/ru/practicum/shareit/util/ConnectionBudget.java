@@ -0,0 +1,66 @@
+package ru.practicum.shareit.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.replica.ReplicaProperties;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Ограничение числа потоков, которые удерживают соединение пула (выполняются в транзакции) и при этом ждут
+ * параллельных запросов {@link InListLoader} и {@link ReadOnlyFanOut}, которым нужны свои соединения того же пула.
+ * <p>
+ * Если все соединения пула заняты такими ожидающими потоками, параллельные запросы не получают соединений,
+ * и ожидание заканчивается только по таймауту пула. Поэтому ожидающих не больше, чем размер пула за вычетом
+ * наибольшего числа параллельных запросов: этим запросам соединения всегда остаются. Поток без разрешения
+ * выполняет запросы сам, последовательно.
+ */
+@Component
+@Slf4j
+public class ConnectionBudget {
+    /**
+     * Разрешения на ожидание параллельных запросов.
+     */
+    private final Semaphore waiters;
+
+    public ConnectionBudget(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize,
+                            ReplicaProperties replicaProperties, InListProperties inListProperties,
+                            FanOutProperties fanOutProperties) {
+        int poolSize = replicaProperties.getUrls().isEmpty()
+                ? maximumPoolSize
+                : Math.min(maximumPoolSize, replicaProperties.getMaximumPoolSize());
+        int reserved = Math.max(1, inListProperties.getParallelism())
+                + Math.max(0, fanOutProperties.getMaxConcurrent());
+        int permits = Math.max(0, poolSize - reserved);
+        this.waiters = new Semaphore(permits);
+        log.info("Connection budget: {} waiting threads for pool of {} ({} reserved for parallel queries)",
+                permits, poolSize, reserved);
+    }
+
+    /**
+     * Удерживает ли текущий поток соединение пула: в транзакции соединение занято до ее завершения.
+     *
+     * @return true, если поток выполняется в транзакции.
+     */
+    public static boolean holdsConnection() {
+        return TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    /**
+     * Попытка получить разрешение ожидать параллельные запросы, удерживая соединение.
+     *
+     * @return true, если разрешение получено; после ожидания его нужно вернуть {@link #release()}.
+     */
+    public boolean tryAcquire() {
+        return waiters.tryAcquire();
+    }
+
+    /**
+     * Возврат разрешения, полученного {@link #tryAcquire()}.
+     */
+    public void release() {
+        waiters.release();
+    }
+}
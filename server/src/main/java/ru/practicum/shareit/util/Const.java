@@ -5,4 +5,15 @@ public class Const {
      * Константа поля заголовка запроса со значением идентификатора пользователя.
      */
     public static final String SHARER_USER_ID = "X-Sharer-User-Id";
+
+    /**
+     * Размер страницы по умолчанию для постраничной выдачи списков.
+     */
+    public static final String DEFAULT_PAGE_SIZE = "20";
+
+    /**
+     * Количество идентификаторов, выделяемых из последовательности за одно обращение к ней.
+     * Должно совпадать с шагом последовательностей в {@code V3__id_sequences.sql}.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
 }
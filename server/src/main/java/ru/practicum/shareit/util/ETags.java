@@ -0,0 +1,55 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Вычисление сильных ETag и обработка условных GET-запросов ({@code If-None-Match}).
+ */
+public class ETags {
+    /**
+     * Разделитель составляющих при вычислении хэша.
+     */
+    private static final char SEPARATOR = '\u001f';
+
+    private ETags() {
+    }
+
+    /**
+     * Получение сильного ETag по составляющим состояния ресурса.
+     *
+     * @param parts значения, от которых зависит представление ресурса.
+     * @return ETag в кавычках.
+     */
+    public static String of(Object... parts) {
+        StringBuilder source = new StringBuilder();
+        for (Object part : parts) {
+            source.append(Objects.toString(part)).append(SEPARATOR);
+        }
+
+        return "\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Проверка условного запроса. Ответ помечается {@code Cache-Control: no-cache}, чтобы клиенты
+     * перепроверяли сохраненную копию по ETag. Если ETag совпал с {@code If-None-Match}, Spring
+     * отправит ответ 304 без тела, и контроллеру достаточно вернуть null.
+     *
+     * @param webRequest текущий запрос;
+     * @param etag       ETag ресурса.
+     * @return true, если у клиента актуальная копия.
+     */
+    public static boolean checkNotModified(ServletWebRequest webRequest, String etag) {
+        if (etag == null || webRequest.getResponse() == null) {
+            return false;
+        }
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+
+        return webRequest.checkNotModified(etag);
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки параллельного выполнения независимых запросов на чтение (префикс {@code shareit.fan-out}).
+ */
+@ConfigurationProperties(prefix = "shareit.fan-out")
+@Getter
+@Setter
+public class FanOutProperties {
+    /**
+     * Наибольшее количество одновременно выполняемых фоновых запросов (общее на все запросы к серверу).
+     * Каждый фоновый запрос занимает отдельное соединение пула; сверх этого числа запросы выполняет вызывающий поток.
+     */
+    private int maxConcurrent = 8;
+}
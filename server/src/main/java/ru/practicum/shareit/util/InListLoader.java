@@ -0,0 +1,144 @@
+package ru.practicum.shareit.util;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.replica.ReadRouting;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Загрузка данных по длинному списку идентификаторов частями. Список делится на части не длиннее
+ * {@link InListProperties#getChunkSize()}, каждая часть дополняется повтором последнего идентификатора до степени
+ * двойки: у запросов остается несколько форм, и их планы переиспользуются. Части выполняются параллельно
+ * на ограниченном пуле потоков, результаты объединяются в один список.
+ * <p>
+ * В потоках пула запросы выполняются вне транзакции вызывающего кода и видят только зафиксированные данные,
+ * поэтому параллельно части выполняются, только если вызывающий код не в изменяющей транзакции. Вызывающий код
+ * в транзакции удерживает соединение, пока ждет части, которым нужны свои соединения, поэтому ждать он может
+ * только с разрешения {@link ConnectionBudget}, иначе части выполняются последовательно. Загружаемые
+ * в потоках пула сущности отсоединены: запрос должен сам выбирать нужные связи ({@code join fetch}).
+ */
+@Component
+public class InListLoader {
+    /**
+     * Настройки загрузки.
+     */
+    private final InListProperties properties;
+
+    /**
+     * Ограничение ожидающих потоков, удерживающих соединение.
+     */
+    private final ConnectionBudget connectionBudget;
+
+    /**
+     * Пул потоков для частей списка.
+     */
+    private final ThreadPoolExecutor executor;
+
+    public InListLoader(InListProperties properties, ConnectionBudget connectionBudget) {
+        this.properties = properties;
+        this.connectionBudget = connectionBudget;
+        int threads = Math.max(1, properties.getParallelism());
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                new CustomizableThreadFactory("in-list-loader-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Загрузка данных по списку идентификаторов.
+     *
+     * @param ids   идентификаторы (повторы отбрасываются);
+     * @param query запрос по одной части списка.
+     * @param <T>   тип результата.
+     * @return Объединенные результаты запросов по всем частям.
+     */
+    public <T> List<T> load(Collection<Long> ids, Function<List<Long>, List<T>> query) {
+        List<List<Long>> chunks = chunks(ids, properties.getChunkSize());
+        if (chunks.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<T> result = new ArrayList<>();
+        boolean holdsConnection = ConnectionBudget.holdsConnection();
+        if (chunks.size() == 1 || !canRunInParallel() || holdsConnection && !connectionBudget.tryAcquire()) {
+            for (List<Long> chunk : chunks) {
+                result.addAll(query.apply(chunk));
+            }
+            return result;
+        }
+
+        try {
+            loadInParallel(chunks, query, result);
+        } finally {
+            if (holdsConnection) {
+                connectionBudget.release();
+            }
+        }
+        return result;
+    }
+
+    private <T> void loadInParallel(List<List<Long>> chunks, Function<List<Long>, List<T>> query, List<T> result) {
+        List<CompletableFuture<List<T>>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(ReadRouting.propagate(() -> query.apply(chunk)), executor))
+                .toList();
+        try {
+            for (CompletableFuture<List<T>> future : futures) {
+                result.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Деление списка идентификаторов на части с дополнением каждой части до степени двойки
+     * (но не больше размера части).
+     *
+     * @param ids       идентификаторы (повторы отбрасываются);
+     * @param chunkSize наибольший размер части.
+     * @return Части списка.
+     */
+    static List<List<Long>> chunks(Collection<Long> ids, int chunkSize) {
+        List<Long> distinct = ids.stream().distinct().toList();
+        int size = Math.max(1, chunkSize);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += size) {
+            List<Long> chunk = new ArrayList<>(distinct.subList(from, Math.min(from + size, distinct.size())));
+            int padded = Math.min(size, Integer.highestOneBit(chunk.size() - 1) << 1);
+            Long last = chunk.getLast();
+            while (chunk.size() < padded) {
+                chunk.add(last);
+            }
+            chunks.add(chunk);
+        }
+
+        return chunks;
+    }
+
+    private static boolean canRunInParallel() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
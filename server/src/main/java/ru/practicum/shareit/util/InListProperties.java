@@ -0,0 +1,30 @@
+package ru.practicum.shareit.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки загрузки по длинным спискам идентификаторов (префикс {@code shareit.in-list}).
+ */
+@ConfigurationProperties(prefix = "shareit.in-list")
+@Getter
+@Setter
+public class InListProperties {
+    /**
+     * Наибольшее количество идентификаторов в условии {@code in} одного запроса.
+     */
+    private int chunkSize = 512;
+
+    /**
+     * Количество потоков, параллельно выполняющих запросы по частям списка (общее на все запросы к серверу).
+     * Каждый поток занимает отдельное соединение пула: эти соединения не отдаются потокам, ждущим частей списка
+     * (см. {@link ConnectionBudget}).
+     */
+    private int parallelism = 4;
+
+    /**
+     * Длина очереди частей, ожидающих свободного потока; при переполнении часть выполняет вызывающий поток.
+     */
+    private int queueCapacity = 64;
+}
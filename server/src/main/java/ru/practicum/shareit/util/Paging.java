@@ -0,0 +1,33 @@
+package ru.practicum.shareit.util;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Проверка параметров постраничной выдачи списков. Сервер проверяет их сам, а не полагается на шлюз: нулевой или
+ * отрицательный размер страницы иначе приводит к ошибке 500.
+ */
+public class Paging {
+    /**
+     * Проверка количества пропускаемых результатов и размера страницы.
+     *
+     * @param from количество пропускаемых результатов;
+     * @param size максимальное количество результатов.
+     */
+    public static void checkPage(int from, int size) {
+        if (from < 0) {
+            throw new ValidationException("Количество пропускаемых результатов не может быть отрицательным.");
+        }
+        checkSize(size);
+    }
+
+    /**
+     * Проверка размера страницы.
+     *
+     * @param size максимальное количество результатов.
+     */
+    public static void checkSize(int size) {
+        if (size <= 0) {
+            throw new ValidationException("Размер страницы должен быть положительным.");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.util;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.replica.ReadRouting;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Параллельное выполнение независимых запросов на чтение. Каждый запрос выполняется в виртуальном потоке
+ * в отдельной транзакции только для чтения (и на отдельном соединении), вызывающий поток тем временем
+ * выполняет свою часть работы и затем дожидается результата.
+ * <p>
+ * Фоновые запросы видят только зафиксированные данные, поэтому внутри изменяющей транзакции запрос выполняется
+ * сразу в вызывающем потоке. Так же запрос выполняется, если занято {@link FanOutProperties#getMaxConcurrent()}
+ * фоновых запросов: число дополнительных соединений ограничено, и при нехватке соединений пула запросы
+ * не ждут друг друга. Вызывающий поток в транзакции удерживает соединение, пока ждет фоновый запрос, поэтому
+ * запрос уходит в фон только с разрешения {@link ConnectionBudget}. Загружаемые в фоне сущности отсоединены:
+ * запрос должен сам выбирать нужные связи.
+ */
+@Component
+public class ReadOnlyFanOut {
+    /**
+     * Шаблон транзакции только для чтения для фоновых запросов.
+     */
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Разрешения на фоновые запросы.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Ограничение ожидающих потоков, удерживающих соединение.
+     */
+    private final ConnectionBudget connectionBudget;
+
+    /**
+     * Исполнитель фоновых запросов (виртуальный поток на каждый запрос).
+     */
+    private final ExecutorService executor;
+
+    public ReadOnlyFanOut(PlatformTransactionManager transactionManager, FanOutProperties properties,
+                          ConnectionBudget connectionBudget) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.permits = new Semaphore(Math.max(0, properties.getMaxConcurrent()));
+        this.connectionBudget = connectionBudget;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("read-fan-out-", 0).factory());
+    }
+
+    /**
+     * Запуск запроса на чтение.
+     *
+     * @param query запрос.
+     * @param <T>   тип результата.
+     * @return Результат запроса (уже готовый, если запрос выполнен в вызывающем потоке).
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        if (isInWriteTransaction() || !permits.tryAcquire()) {
+            return CompletableFuture.completedFuture(query.get());
+        }
+        boolean holdsConnection = ConnectionBudget.holdsConnection();
+        if (holdsConnection && !connectionBudget.tryAcquire()) {
+            permits.release();
+            return CompletableFuture.completedFuture(query.get());
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(ReadRouting.propagate(() -> {
+                try {
+                    return readOnlyTransaction.execute(status -> query.get());
+                } finally {
+                    release(holdsConnection);
+                }
+            }), executor);
+        } catch (RuntimeException e) {
+            release(holdsConnection);
+            throw e;
+        }
+    }
+
+    private void release(boolean holdsConnection) {
+        permits.release();
+        if (holdsConnection) {
+            connectionBudget.release();
+        }
+    }
+
+    /**
+     * Ожидание результата запроса. Исключение запроса пробрасывается как есть.
+     *
+     * @param future результат {@link #submit(Supplier)}.
+     * @param <T>    тип результата.
+     * @return Результат запроса.
+     */
+    public <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isInWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Повтор метода сервиса при конфликте версий записи (оптимистическая блокировка).
+ * <p>
+ * Повтор выполняется снаружи транзакции метода, поэтому каждая попытка заново читает данные. Число попыток и
+ * начальная задержка задаются настройками {@code shareit.retry.max-attempts} и {@code shareit.retry.backoff-delay};
+ * после исчерпания попыток конфликт возвращается клиенту с кодом 409.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(retryFor = OptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${shareit.retry.max-attempts:5}",
+        backoff = @Backoff(delayExpression = "${shareit.retry.backoff-delay:10}", multiplier = 2, random = true))
+public @interface RetryOnConflict {
+}
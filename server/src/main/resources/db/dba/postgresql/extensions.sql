@@ -0,0 +1,9 @@
+-- extensions required by db/vendor/postgresql migrations, run by the database owner (or a superuser)
+-- once per database when the application role has no CREATE privilege on it:
+--   psql -d shareit -f extensions.sql
+
+-- ix_items_name_trgm and ix_items_description_trgm trigram indexes (V1_1)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- ex_bookings_item_period exclusion constraint (V2_2)
+CREATE EXTENSION IF NOT EXISTS btree_gist;
@@ -2,6 +2,7 @@ CREATE TABLE IF NOT EXISTS users (
   user_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   name VARCHAR(255) NOT NULL,
   email VARCHAR(100) NOT NULL,
+  version BIGINT DEFAULT 0 NOT NULL,
   CONSTRAINT pk_user PRIMARY KEY (user_id),
   CONSTRAINT uq_user_email UNIQUE (email)
 );
@@ -11,6 +12,7 @@ CREATE TABLE IF NOT EXISTS requests (
   description VARCHAR(255),
   requestor_id BIGINT,
   created TIMESTAMP WITHOUT TIME ZONE,
+  version BIGINT DEFAULT 0 NOT NULL,
   CONSTRAINT pk_request PRIMARY KEY (request_id),
   CONSTRAINT fk_requests_to_users FOREIGN KEY(requestor_id) REFERENCES users(user_id) ON DELETE CASCADE
 );
@@ -22,6 +24,7 @@ CREATE TABLE IF NOT EXISTS items (
   is_available BOOLEAN,
   owner_id BIGINT,
   request_id BIGINT,
+  version BIGINT DEFAULT 0 NOT NULL,
   CONSTRAINT pk_item PRIMARY KEY (item_id),
   CONSTRAINT fk_items_to_users FOREIGN KEY(owner_id) REFERENCES users(user_id) ON DELETE CASCADE,
   CONSTRAINT fk_items_to_requests FOREIGN KEY(request_id) REFERENCES requests(request_id)
@@ -34,6 +37,7 @@ CREATE TABLE IF NOT EXISTS bookings (
   item_id BIGINT,
   booker_id BIGINT,
   status VARCHAR(10),
+  version BIGINT DEFAULT 0 NOT NULL,
   CONSTRAINT pk_booking PRIMARY KEY (booking_id),
   CONSTRAINT fk_bookings_to_items FOREIGN KEY(item_id) REFERENCES items(item_id) ON DELETE CASCADE,
   CONSTRAINT fk_bookings_to_users FOREIGN KEY(booker_id) REFERENCES users(user_id) ON DELETE CASCADE
@@ -45,7 +49,17 @@ CREATE TABLE IF NOT EXISTS comments (
   item_id BIGINT,
   author_id BIGINT,
   created TIMESTAMP WITHOUT TIME ZONE,
+  version BIGINT DEFAULT 0 NOT NULL,
   CONSTRAINT pk_comment PRIMARY KEY (comment_id),
   CONSTRAINT fk_comments_to_items FOREIGN KEY(item_id) REFERENCES items(item_id)  ON DELETE CASCADE,
   CONSTRAINT fk_comments_to_users FOREIGN KEY(author_id) REFERENCES users(user_id) ON DELETE CASCADE
 );
+
+CREATE INDEX IF NOT EXISTS ix_bookings_item_start ON bookings (item_id, start_date);
+
+-- version columns for databases created before optimistic locking
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,16 @@
+-- indexes for the hot predicates of BookingRepository, ItemRepository, CommentRepository and ItemRequestRepository
+
+-- booker listings: where booker_id = ? order by start_date desc, booking_id desc (keyset cursor)
+CREATE INDEX IF NOT EXISTS ix_bookings_booker_start ON bookings (booker_id, start_date DESC, booking_id DESC);
+
+-- owner listings and owner items: join items on owner_id, then bookings by ix_bookings_item_start
+CREATE INDEX IF NOT EXISTS ix_items_owner ON items (owner_id);
+
+-- answers to item requests
+CREATE INDEX IF NOT EXISTS ix_items_request ON items (request_id);
+
+-- comments of an item or of owner items
+CREATE INDEX IF NOT EXISTS ix_comments_item ON comments (item_id);
+
+-- own requests: where requestor_id = ? order by created desc
+CREATE INDEX IF NOT EXISTS ix_requests_requestor_created ON requests (requestor_id, created DESC);
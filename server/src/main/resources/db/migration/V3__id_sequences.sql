@@ -0,0 +1,14 @@
+-- ids are allocated by Hibernate from sequences in blocks of 50 (pooled-lo optimizer), so inserts can be
+-- batched: the increment must match Const.ID_ALLOCATION_SIZE
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
+-- identity defaults would hand out ids from another counter and collide with the allocated blocks
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY;
+ALTER TABLE requests ALTER COLUMN request_id DROP IDENTITY;
+ALTER TABLE items ALTER COLUMN item_id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN booking_id DROP IDENTITY;
+ALTER TABLE comments ALTER COLUMN comment_id DROP IDENTITY;
@@ -0,0 +1,8 @@
+-- request feeds are read by keyset pages: order by created desc, request_id desc
+
+-- own requests: where requestor_id = ? (replaces ix_requests_requestor_created, which had no id tie-breaker)
+DROP INDEX IF EXISTS ix_requests_requestor_created;
+CREATE INDEX IF NOT EXISTS ix_requests_requestor_created_id ON requests (requestor_id, created DESC, request_id DESC);
+
+-- requests of other users: where requestor_id <> ?, read in index order up to the page size
+CREATE INDEX IF NOT EXISTS ix_requests_created_id ON requests (created DESC, request_id DESC);
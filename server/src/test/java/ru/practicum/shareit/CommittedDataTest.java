@@ -0,0 +1,41 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.UserRepository;
+
+/**
+ * Основа тестов, транзакции которых фиксируются (многопоточные проверки, действия после фиксации): тест
+ * не откатывает данные, поэтому они удаляются до и после каждого теста.
+ */
+public abstract class CommittedDataTest {
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Удаление данных с учетом внешних ключей. Выполняется до {@code @BeforeEach} и после {@code @AfterEach}
+     * наследника.
+     */
+    @BeforeEach
+    @AfterEach
+    void deleteCommittedData() {
+        bookingRepository.deleteAll();
+        commentRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+}
@@ -0,0 +1,133 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка планов горячих запросов на PostgreSQL с миграциями {@code db/migration} и {@code db/vendor/postgresql}:
+ * EXPLAIN строится для запросов, которые отправляют методы репозиториев, с их параметрами.
+ * <p>
+ * Таблицы пусты, поэтому полный просмотр запрещается ({@code enable_seqscan}), а для GIN индексов - и обычный
+ * просмотр индекса по порядку ({@code enable_indexscan}): план показывает, какой индекс подходит запросу.
+ * Без Docker тест пропускается.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@Import(QueryIndexTest.SqlCaptureConfig.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class PostgresQueryIndexTest {
+    private static final LocalDateTime ON_TIME = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final Limit PAGE = Limit.of(20);
+    private static final String NO_SEQ_SCAN = "set local enable_seqscan = off";
+    private static final String NO_INDEX_SCAN = "set local enable_indexscan = off";
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private final SqlCapture sqlCapture;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    void bookerNextPageSeeksBookerStartIndex() {
+        String plan = explain(() -> bookingRepository.findAllBookingsByBookerIdBefore(1L, ON_TIME, 10L, PAGE),
+                NO_SEQ_SCAN);
+
+        assertThat(plan).contains("Index Scan using ix_bookings_booker_start")
+                .containsPattern("Index Cond: .*start_date <= ");
+    }
+
+    @Test
+    void waitingBookingsUsePartialIndex() {
+        String plan = explain(() -> bookingRepository.findBookingsByBookerIdAndStatus(1L,
+                List.of(BookingStatus.WAITING), PAGE), NO_SEQ_SCAN);
+
+        assertThat(plan).contains("ix_bookings_booker_waiting");
+    }
+
+    @Test
+    void rejectedNextPageUsesPartialIndex() {
+        String plan = explain(() -> bookingRepository.findBookingsByBookerIdAndStatusBefore(1L,
+                List.of(BookingStatus.REJECTED), ON_TIME, 10L, PAGE), NO_SEQ_SCAN);
+
+        assertThat(plan).contains("ix_bookings_booker_rejected")
+                .containsPattern("Index Cond: .*start_date <= ");
+    }
+
+    @Test
+    void bookingOverlapCheckUsesActivePartialIndex() {
+        String plan = explain(() -> bookingRepository.crossingCount(1L, ON_TIME, ON_TIME.plusDays(1)), NO_SEQ_SCAN);
+
+        assertThat(plan).contains("ix_bookings_item_active");
+    }
+
+    @Test
+    void likeSearchUsesTrigramIndexes() {
+        String plan = explain(() -> itemRepository.search("дрель", 0, 20), NO_SEQ_SCAN, NO_INDEX_SCAN);
+
+        assertThat(plan).contains("Bitmap Index Scan on ix_items_name_trgm")
+                .contains("Bitmap Index Scan on ix_items_description_trgm");
+    }
+
+    @Test
+    void fullTextSearchUsesGinIndex() {
+        String plan = explain(() -> itemRepository.searchFullText("дрель", 0, 20), NO_SEQ_SCAN, NO_INDEX_SCAN);
+
+        assertThat(plan).contains("Bitmap Index Scan on ix_items_fulltext");
+    }
+
+    @Test
+    void ownRequestsNextPageSeeksRequestorCreatedIndex() {
+        String plan = explain(() -> itemRequestRepository.findByRequestorIdBefore(1L, ON_TIME, 10L, PAGE),
+                NO_SEQ_SCAN);
+
+        assertThat(plan).contains("Index Scan using ix_requests_requestor_created_id")
+                .containsPattern("Index Cond: .*created <= ");
+    }
+
+    @Test
+    void otherRequestsNextPageSeeksCreatedIndex() {
+        String plan = explain(() -> itemRequestRepository.findByOtherUsersBefore(1L, ON_TIME, 10L, PAGE),
+                NO_SEQ_SCAN);
+
+        assertThat(plan).contains("Index Scan using ix_requests_created_id")
+                .containsPattern("Index Cond: .*created <= ");
+    }
+
+    private String explain(Runnable query, String... settings) {
+        SqlCapture.CapturedStatement statement = sqlCapture.capture(query);
+
+        return transactionTemplate.execute(status -> sqlCapture.explain(jdbcTemplate, statement, settings));
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка планов горячих запросов на H2: EXPLAIN строится для запросов, которые отправляют методы репозиториев,
+ * и тест падает, если запрос к таблице перешел на полный просмотр.
+ * <p>
+ * H2 сам индексирует внешние ключи и выбирает такой индекс вместо составного из {@code db/migration}, поэтому
+ * проверяется отсутствие {@code tableScan}, а не имя индекса. Составные, частичные, GIN и pg_trgm индексы
+ * проверяются на PostgreSQL в {@link PostgresQueryIndexTest}.
+ */
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class QueryIndexTest {
+    private static final LocalDateTime ON_TIME = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final Limit PAGE = Limit.of(20);
+
+    private final SqlCapture sqlCapture;
+    private final JdbcTemplate jdbcTemplate;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+        @Bean
+        static SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+    }
+
+    @Test
+    void bookerBookingsUseIndex() {
+        assertIndexed(() -> bookingRepository.findAllBookingsByBookerId(1L, PAGE), "bookings");
+        assertIndexed(() -> bookingRepository.findAllBookingsByBookerIdBefore(1L, ON_TIME, 10L, PAGE), "bookings");
+    }
+
+    @Test
+    void ownerBookingsUseIndexes() {
+        assertIndexed(() -> bookingRepository.findAllBookingsByOwnerIdBefore(1L, ON_TIME, 10L, PAGE),
+                "items", "bookings");
+    }
+
+    @Test
+    void bookingOverlapCheckUsesIndex() {
+        assertIndexed(() -> bookingRepository.crossingCount(1L, ON_TIME, ON_TIME.plusDays(1)), "bookings");
+    }
+
+    @Test
+    void itemBookingDatesUseIndex() {
+        assertIndexed(() -> bookingRepository.bookingDatesByItemIds(List.of(1L, 2L, 3L), ON_TIME), "bookings");
+    }
+
+    @Test
+    void ownerItemRowsUseIndexes() {
+        assertIndexed(() -> itemRepository.findOwnerItemRows(1L, ON_TIME), "items", "bookings", "comments", "users");
+    }
+
+    @Test
+    void requestAnswersUseIndex() {
+        assertIndexed(() -> itemRepository.getItemsByRequestIds(List.of(1L, 2L, 3L)), "items");
+    }
+
+    @Test
+    void itemCommentsUseIndex() {
+        assertIndexed(() -> commentRepository.getCommentsByItemIds(List.of(1L, 2L, 3L)), "comments", "users");
+    }
+
+    @Test
+    void ownRequestsUseIndex() {
+        assertIndexed(() -> itemRequestRepository.findByRequestorIdBefore(1L, ON_TIME, 10L, PAGE), "requests");
+    }
+
+    @Test
+    void tableScanDetected() {
+        String plan = sqlCapture.explain(jdbcTemplate, sqlCapture.capture(itemRepository::findAllByAvailableTrue));
+
+        assertThat(plan).containsIgnoringCase("items.tableScan");
+    }
+
+    private void assertIndexed(Runnable query, String... tables) {
+        SqlCapture.CapturedStatement statement = sqlCapture.capture(query);
+        String plan = sqlCapture.explain(jdbcTemplate, statement);
+
+        for (String table : tables) {
+            assertThat(plan).as("plan of %s", statement.sql())
+                    .containsIgnoringCase("\"public\".\"" + table + "\"")
+                    .doesNotContainIgnoringCase(table + ".tableScan");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Проверка кэша второго уровня: транзакции фиксируются, так как очистка кэша при удалении пользователя
+ * выполняется после фиксации.
+ */
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SecondLevelCacheTest extends CommittedDataTest {
+
+    private final ItemService itemService;
+    private final UserService userService;
+    private final ItemRequestService itemRequestService;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ItemRepository itemRepository;
+
+    private Cache cache;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        cache = sessionFactory.getCache();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void entitiesAndOwnerItemsServedFromCache() {
+        UserDto owner = userService.add(new UserCreateDto("cacheOwner", "cacheOwner@mail.org"));
+        ItemDto item = itemService.add(new ItemCreateDto("Дрель", "Дрель ударная", true, null, owner.getId()));
+
+        itemService.getById(item.getId());
+        itemRepository.findAllByOwnerId(owner.getId());
+        itemRepository.findAllByOwnerId(owner.getId());
+
+        assertThat(cache.containsEntity(Item.class, item.getId())).isTrue();
+        assertThat(cache.containsEntity(User.class, owner.getId())).isTrue();
+        assertThat(statistics.getDomainDataRegionStatistics("items").getHitCount()).isPositive();
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void updatedUserReadBackFromCache() {
+        UserDto user = userService.add(new UserCreateDto("cacheUser", "cacheUser@mail.org"));
+        userService.getById(user.getId());
+
+        userService.update(new UserUpdateDto(user.getId(), "cacheUserRenamed", null));
+
+        assertThat(userService.getById(user.getId()).getName()).isEqualTo("cacheUserRenamed");
+    }
+
+    @Test
+    void deletedUserItemsAndRequestsEvicted() {
+        UserDto owner = userService.add(new UserCreateDto("cacheOwner", "cacheOwner@mail.org"));
+        ItemDto item = itemService.add(new ItemCreateDto("Дрель", "Дрель ударная", true, null, owner.getId()));
+        ItemRequestDto request = itemRequestService.add(new ItemRequestCreateDto("Нужна стремянка", owner.getId()));
+        itemService.getById(item.getId());
+        itemRequestService.getById(owner.getId(), request.getId());
+        assertThat(itemRepository.findAllByOwnerId(owner.getId())).hasSize(1);
+
+        userService.delete(owner.getId());
+
+        assertThat(cache.containsEntity(Item.class, item.getId())).isFalse();
+        assertThat(cache.containsEntity(ItemRequest.class, request.getId())).isFalse();
+        assertThat(itemRepository.findAllByOwnerId(owner.getId())).isEmpty();
+        assertThrows(NotFoundException.class, () -> itemService.getById(item.getId()));
+    }
+}
@@ -0,0 +1,150 @@
+package ru.practicum.shareit;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Перехват запросов, которые приложение отправляет в базу: источник соединений оборачивается так, что каждый
+ * выполненный {@link PreparedStatement} запоминается вместе с привязанными параметрами. План строится
+ * для того же текста запроса с теми же параметрами.
+ * <p>
+ * Подключается в тестовый контекст статическим {@code @Bean}.
+ */
+public class SqlCapture implements BeanPostProcessor {
+    /**
+     * Выполненные запросы.
+     */
+    private final List<CapturedStatement> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+            return proxy(DataSource.class, dataSource, (method, result, args) ->
+                    result instanceof Connection connection ? wrap(connection) : result);
+        }
+
+        return bean;
+    }
+
+    /**
+     * Выполнение действия с перехватом отправленных им запросов.
+     *
+     * @param action действие, обращающееся к базе (обычно вызов метода репозитория).
+     * @return Единственный запрос, отправленный действием.
+     */
+    public CapturedStatement capture(Runnable action) {
+        statements.clear();
+        action.run();
+        assertThat(statements).as("statements sent").hasSize(1);
+
+        return statements.getFirst();
+    }
+
+    /**
+     * Построение плана перехваченного запроса.
+     *
+     * @param jdbcTemplate шаблон для получения соединения;
+     * @param statement    перехваченный запрос;
+     * @param settings     команды, выполняемые на соединении перед построением плана.
+     * @return Строки плана через перевод строки.
+     */
+    public String explain(JdbcTemplate jdbcTemplate, CapturedStatement statement, String... settings) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement setup = connection.createStatement()) {
+                for (String setting : settings) {
+                    setup.execute(setting);
+                }
+            }
+            try (PreparedStatement explain = connection.prepareStatement("explain " + statement.sql())) {
+                for (Binding binding : statement.bindings()) {
+                    invoke(explain, binding.method(), binding.args());
+                }
+                List<String> plan = new ArrayList<>();
+                try (ResultSet rows = explain.executeQuery()) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                }
+                return String.join("\n", plan);
+            }
+        });
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (method, result, args) ->
+                result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")
+                        ? wrap(statement, (String) args[0])
+                        : result);
+    }
+
+    private PreparedStatement wrap(PreparedStatement statement, String sql) {
+        Map<Integer, Binding> bindings = new TreeMap<>();
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer index) {
+                        bindings.put(index, new Binding(method, args));
+                    } else if (name.equals("clearParameters")) {
+                        bindings.clear();
+                    } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                        statements.add(new CapturedStatement(sql, List.copyOf(bindings.values())));
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> wrapper.wrap(method, invoke(target, method, args), args));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResultWrapper {
+        Object wrap(Method method, Object result, Object[] args);
+    }
+
+    /**
+     * Привязка параметра запроса: метод {@code set*} и его аргументы.
+     */
+    private record Binding(Method method, Object[] args) {
+    }
+
+    /**
+     * Запрос, отправленный в базу: текст и привязанные параметры в порядке номеров.
+     */
+    public record CapturedStatement(String sql, List<Binding> bindings) {
+    }
+}
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.CommittedDataTest;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/**
+ * Многопоточная проверка допуска бронирований.
+ */
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingAdmissionTest extends CommittedDataTest {
+
+    private final ItemService itemService;
+    private final UserService userService;
+    private final BookingService bookingService;
+    private final BookingAdmission bookingAdmission;
+    private final PlatformTransactionManager transactionManager;
+
+    private final BookingRepository bookingRepository;
+
+    public static final int THREADS = 8;
+
+    private UserDto bookerDto;
+    private List<ItemDto> items;
+    private ExecutorService executor;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        UserDto ownerDto = userService.add(new UserCreateDto("admissionOwner", "admissionOwner@mail.org"));
+        bookerDto = userService.add(new UserCreateDto("admissionBooker", "admissionBooker@mail.org"));
+        items = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            items.add(itemService.add(new ItemCreateDto("Вещь " + i, "Вещь для бронирования " + i,
+                    true, null, ownerDto.getId())));
+        }
+        executor = Executors.newFixedThreadPool(THREADS);
+        start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentBookingsOfSameItemAdmittedOnce() throws Exception {
+        long itemId = items.getFirst().getId();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalDateTime bookingStart = start.plusMinutes(i);
+            results.add(executor.submit(() -> {
+                startLatch.await();
+                try {
+                    bookingService.add(new BookingCreateDto(bookingStart, bookingStart.plusHours(1), itemId,
+                            bookerDto.getId()));
+                    return true;
+                } catch (ConflictException e) {
+                    return false;
+                }
+            }));
+        }
+        startLatch.countDown();
+
+        int admitted = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                admitted++;
+            }
+        }
+
+        assertThat(admitted).isEqualTo(1);
+        assertThat(bookingRepository.crossingCount(itemId, start, start.plusHours(2))).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentBookingsOfDisjointItemsAllAdmitted() throws Exception {
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (ItemDto itemDto : items) {
+            results.add(executor.submit(() -> {
+                startLatch.await();
+                bookingService.add(new BookingCreateDto(start, start.plusHours(1), itemDto.getId(),
+                        bookerDto.getId()));
+                return true;
+            }));
+        }
+        startLatch.countDown();
+
+        for (Future<Boolean> result : results) {
+            assertThat(result.get(30, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(bookingRepository.count()).isEqualTo(THREADS);
+    }
+
+    @Test
+    void disjointItemsDoNotWaitForEachOther() throws Exception {
+        long itemId = items.getFirst().getId();
+        long otherItemId = items.getLast().getId();
+        assertNotSame(bookingAdmission.stripeFor(itemId), bookingAdmission.stripeFor(otherItemId));
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch admitted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            bookingAdmission.admit(itemId);
+            admitted.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(admitted.await(30, TimeUnit.SECONDS)).isTrue();
+
+        Future<Boolean> other = executor.submit(() -> transactionTemplate.execute(status -> {
+            bookingAdmission.admit(otherItemId);
+            return true;
+        }));
+        assertThat(other.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(bookingAdmission.stripeFor(itemId).isLocked()).isTrue();
+
+        release.countDown();
+        holder.get(30, TimeUnit.SECONDS);
+        assertThat(bookingAdmission.stripeFor(itemId).isLocked()).isFalse();
+    }
+}
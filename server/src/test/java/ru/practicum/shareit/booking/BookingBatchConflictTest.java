@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.CommittedDataTest;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Проверка пакетного бронирования при нарушении ограничения непересечения. Нарушение ограничения PostgreSQL
+ * имитируется при первой вставке пакета.
+ */
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingBatchConflictTest extends CommittedDataTest {
+
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final PlatformTransactionManager transactionManager;
+
+    @SpyBean
+    private BookingRepository bookingRepository;
+
+    private UserDto bookerDto;
+    private ItemDto itemDto;
+    private ItemDto itemDto2;
+
+    @BeforeEach
+    void setUp() {
+        UserDto ownerDto = userService.add(new UserCreateDto("batchOwner", "batchOwner@mail.org"));
+        bookerDto = userService.add(new UserCreateDto("batchBooker", "batchBooker@mail.org"));
+        UserDto rivalDto = userService.add(new UserCreateDto("batchRival", "batchRival@mail.org"));
+        itemDto = itemService.add(new ItemCreateDto("Дрель", "Дрель ударная", true, null, ownerDto.getId()));
+        itemDto2 = itemService.add(new ItemCreateDto("Пила", "Пила цепная", true, null, ownerDto.getId()));
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        doAnswer(invocation -> {
+            concurrent.executeWithoutResult(status -> bookingService.add(new BookingCreateDto(start,
+                    start.plusHours(1), itemDto.getId(), rivalDto.getId())));
+            throw new DataIntegrityViolationException("insert into bookings",
+                    new SQLException("conflicting key value violates exclusion constraint", "23P01"));
+        }).doAnswer(mockingDetails(bookingRepository).getMockCreationSettings().getDefaultAnswer())
+                .when(bookingRepository).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void overlapViolationRejectsOnlyConflictingEntry() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        List<BookingBatchResultDto> results = bookingService.addAll(bookerDto.getId(), List.of(
+                new BookingCreateDto(start, start.plusHours(1), itemDto.getId(), null),
+                new BookingCreateDto(start, start.plusHours(1), itemDto2.getId(), null)));
+
+        assertThat(results.get(0).getError()).contains("пересекаться");
+        assertThat(results.get(1).getBooking().getId()).isNotNull();
+        assertThat(bookingRepository.count()).isEqualTo(2);
+        verify(bookingRepository, times(2)).saveAllAndFlush(anyList());
+    }
+}
@@ -9,26 +9,38 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -77,6 +89,74 @@ class BookingControllerTest {
         verify(bookingService, times(1)).add(any());
     }
 
+    @Test
+    void exportBookingsByOwner() throws Exception {
+        String csv = "id,start,end,status,itemId,itemName,bookerId,bookerName\n" +
+                "1,2030-01-01T10:00:00,2030-01-01T11:00:00,WAITING,1,Дрель,2,commonBooker\n";
+
+        when(bookingService.exportBookingsByOwner(USER_ID_TEST, BookingExportFormat.CSV))
+                .thenReturn(out -> out.write(csv.getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult mvcResult = mockMvc.perform(get("/bookings/owner/export")
+                        .header(SHARER_USER_ID, USER_ID_TEST)
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().bytes(csv.getBytes(StandardCharsets.UTF_8)));
+
+        verify(bookingService, times(1)).exportBookingsByOwner(eq(USER_ID_TEST), eq(BookingExportFormat.CSV));
+    }
+
+    @Test
+    void addBookingsBatch() throws Exception {
+        List<BookingCreateDto> bookingCreateDtos = List.of(
+                new BookingCreateDto(LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2),
+                        RESULT_ID_TEST, null),
+                new BookingCreateDto(LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(2),
+                        RESULT_ID_TEST, null));
+
+        when(bookingService.addAll(anyLong(), anyList())).thenReturn(List.of(
+                new BookingBatchResultDto(0, new BookingDto(), null),
+                new BookingBatchResultDto(1, null, "Добавляемая бронь не может пересекаться с уже имеющимися бронированиями")));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header(SHARER_USER_ID, USER_ID_TEST)
+                        .content(mapper.writeValueAsString(bookingCreateDtos))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].error").isNotEmpty());
+
+        verify(bookingService, times(1)).addAll(anyLong(), anyList());
+    }
+
+    @Test
+    void addBookingsBatchValidated() throws Exception {
+        BookingCreateDto valid = new BookingCreateDto(LocalDateTime.now().plusHours(1),
+                LocalDateTime.now().plusHours(2), RESULT_ID_TEST, null);
+        List<BookingCreateDto> tooMany = Collections.nCopies(BookingController.MAX_BATCH_SIZE + 1, valid);
+        List<BookingCreateDto> withoutItem = List.of(valid, new BookingCreateDto(LocalDateTime.now().plusHours(1),
+                LocalDateTime.now().plusHours(2), null, null));
+        List<BookingCreateDto> withNull = Arrays.asList(valid, null);
+
+        for (List<BookingCreateDto> bookingCreateDtos : List.of(tooMany, withoutItem, withNull)) {
+            mockMvc.perform(post("/bookings/batch")
+                            .header(SHARER_USER_ID, USER_ID_TEST)
+                            .content(mapper.writeValueAsString(bookingCreateDtos))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verify(bookingService, never()).addAll(anyLong(), anyList());
+    }
+
     @Test
     void approveBooking() throws Exception {
         when(bookingService.approve(USER_ID_TEST, RESULT_ID_TEST, true)).thenReturn(new BookingDto());
@@ -91,31 +171,31 @@ class BookingControllerTest {
 
     @Test
     void getBookingById() throws Exception {
-        when(bookingService.getById(RESULT_ID_TEST, USER_ID_TEST)).thenReturn(new BookingDto());
+        when(bookingService.getById(eq(USER_ID_TEST), eq(RESULT_ID_TEST), any())).thenReturn(new BookingDto());
 
         mockMvc.perform(get("/bookings/{bookingId}", RESULT_ID_TEST)
                         .header(SHARER_USER_ID, USER_ID_TEST))
                 .andExpect(status().isOk());
 
-        verify(bookingService, times(1)).getById(RESULT_ID_TEST, USER_ID_TEST);
+        verify(bookingService, times(1)).getById(eq(USER_ID_TEST), eq(RESULT_ID_TEST), any());
 
     }
 
     @Test
     void getBookingsByBooker() throws Exception {
-        when(bookingService.getBookingsByBooker(USER_ID_TEST, BookingState.ALL)).thenReturn(Collections.emptyList());
+        when(bookingService.getBookingsByBooker(USER_ID_TEST, BookingState.ALL, null, null, 20)).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/bookings")
                         .param("state", "ALL")
                         .header(SHARER_USER_ID, USER_ID_TEST))
                 .andExpect(status().isOk());
 
-        verify(bookingService, times(1)).getBookingsByBooker(USER_ID_TEST, BookingState.ALL);
+        verify(bookingService, times(1)).getBookingsByBooker(USER_ID_TEST, BookingState.ALL, null, null, 20);
     }
 
     @Test
     void getBookingsByOwner() throws Exception {
-        when(bookingService.getBookingsByOwner(USER_ID_TEST, BookingState.ALL))
+        when(bookingService.getBookingsByOwner(USER_ID_TEST, BookingState.ALL, null, null, 20))
                 .thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/bookings/owner")
@@ -124,6 +204,6 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json("[]"));
 
-        verify(bookingService, times(1)).getBookingsByOwner(USER_ID_TEST, BookingState.ALL);
+        verify(bookingService, times(1)).getBookingsByOwner(USER_ID_TEST, BookingState.ALL, null, null, 20);
     }
 }
\ No newline at end of file
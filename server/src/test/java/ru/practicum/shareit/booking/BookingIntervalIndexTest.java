@@ -0,0 +1,139 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingIntervalDto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingIntervalIndexTest {
+
+    public static final long ITEM_ID_TEST = 1L;
+    public static final long OTHER_ITEM_ID_TEST = 2L;
+    public static final long USER_ID_TEST = 3L;
+
+    private BookingRepository bookingRepository;
+    private BookingIntervalIndex index;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        BookingProperties bookingProperties = new BookingProperties();
+        bookingProperties.setOverlapCheck(BookingOverlapCheck.INDEX);
+        index = new BookingIntervalIndex(bookingRepository, bookingProperties);
+        start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Test
+    void reserveOverlapping() {
+        assertTrue(index.tryReserve(ITEM_ID_TEST, start, start.plusHours(2)));
+
+        assertFalse(index.tryReserve(ITEM_ID_TEST, start.plusHours(1), start.plusHours(3)),
+                "Пересекающийся интервал не должен резервироваться");
+        assertFalse(index.tryReserve(ITEM_ID_TEST, start.minusHours(1), start.plusMinutes(1)),
+                "Пересекающийся интервал не должен резервироваться");
+        assertFalse(index.tryReserve(ITEM_ID_TEST, start.plusMinutes(10), start.plusMinutes(20)),
+                "Вложенный интервал не должен резервироваться");
+        assertTrue(index.tryReserve(ITEM_ID_TEST, start.plusHours(2), start.plusHours(3)),
+                "Смежный интервал должен резервироваться");
+        assertTrue(index.tryReserve(OTHER_ITEM_ID_TEST, start, start.plusHours(2)),
+                "Интервалы разных вещей не пересекаются");
+    }
+
+    @Test
+    void releaseInterval() {
+        assertTrue(index.tryReserve(ITEM_ID_TEST, start, start.plusHours(2)));
+
+        index.release(ITEM_ID_TEST, start, start.plusHours(2));
+
+        assertTrue(index.tryReserve(ITEM_ID_TEST, start.plusHours(1), start.plusHours(3)),
+                "Освобожденный интервал должен быть доступен для бронирования");
+    }
+
+    @Test
+    void warmUpMergesOverlapping() {
+        when(bookingRepository.findActiveIntervals(any())).thenReturn(List.of(
+                new BookingIntervalDto(ITEM_ID_TEST, start, start.plusHours(10)),
+                new BookingIntervalDto(ITEM_ID_TEST, start.plusHours(1), start.plusHours(2))));
+
+        index.warmUp();
+
+        assertFalse(index.tryReserve(ITEM_ID_TEST, start.plusHours(5), start.plusHours(6)),
+                "Интервал внутри ранее сохраненной брони не должен резервироваться");
+        assertTrue(index.tryReserve(ITEM_ID_TEST, start.plusHours(10), start.plusHours(11)));
+    }
+
+    @Test
+    void releaseOverlappingWarmedUpBooking() {
+        when(bookingRepository.findActiveIntervals(any())).thenReturn(List.of(
+                new BookingIntervalDto(ITEM_ID_TEST, start, start.plusHours(2)),
+                new BookingIntervalDto(ITEM_ID_TEST, start.plusHours(1), start.plusHours(3))));
+        index.warmUp();
+
+        index.release(ITEM_ID_TEST, start.plusHours(1), start.plusHours(3));
+
+        assertFalse(index.tryReserve(ITEM_ID_TEST, start.plusHours(1), start.plusHours(2)),
+                "Интервал оставшейся брони не должен резервироваться");
+        assertTrue(index.tryReserve(ITEM_ID_TEST, start.plusHours(2), start.plusHours(3)),
+                "Интервал освобожденной брони должен быть доступен для бронирования");
+    }
+
+    @Test
+    void releaseOneOfSameIntervals() {
+        when(bookingRepository.findActiveIntervals(any())).thenReturn(List.of(
+                new BookingIntervalDto(ITEM_ID_TEST, start, start.plusHours(2)),
+                new BookingIntervalDto(ITEM_ID_TEST, start, start.plusHours(2))));
+        index.warmUp();
+
+        index.release(ITEM_ID_TEST, start, start.plusHours(2));
+        assertFalse(index.tryReserve(ITEM_ID_TEST, start, start.plusHours(1)),
+                "Вторая бронь с тем же интервалом остается в индексе");
+
+        index.release(ITEM_ID_TEST, start, start.plusHours(2));
+        assertTrue(index.tryReserve(ITEM_ID_TEST, start, start.plusHours(1)));
+    }
+
+    @Test
+    void warmUpSkipsReserved() {
+        assertTrue(index.tryReserve(ITEM_ID_TEST, start, start.plusHours(2)));
+        when(bookingRepository.findActiveIntervals(any())).thenReturn(List.of(
+                new BookingIntervalDto(ITEM_ID_TEST, start, start.plusHours(2)),
+                new BookingIntervalDto(ITEM_ID_TEST, start.plusHours(3), start.plusHours(4))));
+
+        index.warmUp();
+        index.release(ITEM_ID_TEST, start, start.plusHours(2));
+
+        assertTrue(index.tryReserve(ITEM_ID_TEST, start, start.plusHours(2)),
+                "Зарезервированная бронь не должна добавляться в индекс повторно");
+        assertFalse(index.tryReserve(ITEM_ID_TEST, start.plusHours(3), start.plusHours(4)));
+    }
+
+    @Test
+    void releaseUserBookings() {
+        assertTrue(index.tryReserve(ITEM_ID_TEST, start, start.plusHours(2)));
+        assertTrue(index.tryReserve(ITEM_ID_TEST, start.plusHours(2), start.plusHours(4)));
+        assertTrue(index.tryReserve(OTHER_ITEM_ID_TEST, start, start.plusHours(2)));
+        when(bookingRepository.findActiveIntervalsByUserId(anyLong(), any())).thenReturn(List.of(
+                new BookingIntervalDto(ITEM_ID_TEST, start, start.plusHours(2)),
+                new BookingIntervalDto(OTHER_ITEM_ID_TEST, start, start.plusHours(2))));
+
+        index.releaseUserBookingsAfterCommit(USER_ID_TEST);
+
+        assertTrue(index.tryReserve(ITEM_ID_TEST, start, start.plusHours(2)),
+                "Бронь удаленного пользователя не должна занимать интервал");
+        assertFalse(index.tryReserve(ITEM_ID_TEST, start.plusHours(3), start.plusHours(4)),
+                "Брони других пользователей остаются в индексе");
+        assertTrue(index.tryReserve(OTHER_ITEM_ID_TEST, start, start.plusHours(2)),
+                "Брони вещей удаленного пользователя не должны занимать интервал");
+    }
+}
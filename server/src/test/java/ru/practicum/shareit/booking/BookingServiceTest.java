@@ -6,6 +6,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.exception.ConflictException;
@@ -23,12 +25,18 @@ import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @Transactional
@@ -53,6 +61,7 @@ class BookingServiceTest {
     private ItemDto itemDto3;
 
     public static final long RESULT_ID_TEST = 1L;
+    public static final int PAGE_SIZE = 20;
 
     @BeforeEach
     void setUp() {
@@ -87,6 +96,68 @@ class BookingServiceTest {
         assertThat(bookingDto.getBooker().getId()).isEqualTo(bookerDto.getId());
     }
 
+    @Test
+    void exportBookingsByOwner() throws IOException {
+        ItemDto itemWithComma = itemService.add(new ItemCreateDto("Кефир, 1,5 %", "Кефир слабоалкогольный",
+                true, null, userDto.getId()));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        BookingDto first = bookingService.add(new BookingCreateDto(start, start.plusHours(1), itemDto.getId(),
+                bookerDto.getId()));
+        BookingDto second = bookingService.add(new BookingCreateDto(start.plusHours(2), start.plusHours(3),
+                itemWithComma.getId(), bookerDto.getId()));
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        bookingService.exportBookingsByOwner(userDto.getId(), BookingExportFormat.CSV).writeTo(csv);
+        List<String> csvLines = csv.toString(StandardCharsets.UTF_8).lines().toList();
+
+        assertThat(csvLines).hasSize(3);
+        assertThat(csvLines.get(0)).isEqualTo("id,start,end,status,itemId,itemName,bookerId,bookerName");
+        assertThat(csvLines.get(1)).startsWith(second.getId() + ",")
+                .contains(",\"Кефир, 1,5 %\",")
+                .endsWith("," + bookerDto.getId() + ",commonBooker");
+        assertThat(csvLines.get(2)).startsWith(first.getId() + ",").contains(",WAITING," + itemDto.getId() + ",Дрель,");
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        bookingService.exportBookingsByOwner(userDto.getId(), BookingExportFormat.NDJSON).writeTo(ndjson);
+        List<String> ndjsonLines = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+
+        assertThat(ndjsonLines).hasSize(2);
+        assertThat(ndjsonLines.get(0)).startsWith("{\"id\":" + second.getId() + ",")
+                .contains("\"itemName\":\"Кефир, 1,5 %\"");
+    }
+
+    @Test
+    void exportBookingsByUnknownOwner() {
+        assertThrows(ForbiddenException.class, () -> {
+            bookingService.exportBookingsByOwner(99999L, BookingExportFormat.NDJSON);
+        }, "Testing export for unknown owner failed");
+    }
+
+    @Test
+    void addAllReportsEachEntry() {
+        itemService.update(new ItemUpdateDto(itemDto3.getId(), null, null, false, userDto.getId()));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        bookingService.add(new BookingCreateDto(start, start.plusHours(2), itemDto2.getId(), bookerDto.getId()));
+
+        List<BookingBatchResultDto> results = bookingService.addAll(bookerDto.getId(), List.of(
+                new BookingCreateDto(start, start.plusHours(1), itemDto.getId(), null),
+                new BookingCreateDto(start.plusMinutes(30), start.plusHours(2), itemDto.getId(), null),
+                new BookingCreateDto(start.plusHours(1), start.plusHours(2), itemDto.getId(), null),
+                new BookingCreateDto(start.plusHours(1), start.plusHours(3), itemDto2.getId(), null),
+                new BookingCreateDto(start, start.plusHours(1), itemDto3.getId(), null),
+                new BookingCreateDto(start, start.plusHours(1), 99999L, null)));
+
+        assertThat(results).extracting(BookingBatchResultDto::getIndex).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(results.get(0).getBooking().getStatus()).isEqualTo(BookingStatus.WAITING);
+        assertThat(results.get(0).getBooking().getBooker().getId()).isEqualTo(bookerDto.getId());
+        assertThat(results.get(1).getError()).contains("пересекаться");
+        assertThat(results.get(2).getBooking().getId()).isNotNull();
+        assertThat(results.get(3).getError()).contains("пересекаться");
+        assertThat(results.get(4).getError()).contains("недоступна");
+        assertThat(results.get(5).getError()).contains("не найдена");
+        assertThat(bookingRepository.count()).isEqualTo(3);
+    }
+
     @Test
     void addNewBookingUnavailable() {
         itemDto = itemService.update(new ItemUpdateDto(itemDto.getId(), "КефираНет", "Кефир " +
@@ -126,6 +197,14 @@ class BookingServiceTest {
         }, "Добавляемая бронь не может пересекаться с уже имеющимися бронированиями");
     }
 
+    @Test
+    void overlapConstraintViolationDetected() {
+        assertTrue(BookingServiceImpl.isOverlapViolation(new DataIntegrityViolationException("insert into bookings",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01"))));
+        assertFalse(BookingServiceImpl.isOverlapViolation(new DataIntegrityViolationException("insert into bookings",
+                new SQLException("insert or update violates foreign key constraint", "23503"))));
+    }
+
     @Test
     void approveBookingByNonOwner() {
         BookingDto bookingDto = bookingService.add(new BookingCreateDto(LocalDateTime.now()
@@ -189,44 +268,69 @@ class BookingServiceTest {
         BookingDto bookingDto3 = bookingService.add(new BookingCreateDto(LocalDateTime.now(), LocalDateTime.now()
                 .plusNanos(1), itemDto3.getId(), bookerDto.getId()));
 
-        List<BookingDto> bookingDtos = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.ALL);
+        List<BookingDto> bookingDtos = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.ALL, null, null, PAGE_SIZE);
         assertThat(bookingDtos).isNotNull();
         assertThat(bookingDtos).hasSize(3);
         assertThat(bookingDtos.getFirst().getItem().getId()).isEqualTo(bookingDto2.getItem().getId());
         assertThat(bookingDtos.getLast().getItem().getId()).isEqualTo(bookingDto.getItem().getId());
 
-        bookingDtos = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.CURRENT);
+        bookingDtos = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.CURRENT, null, null, PAGE_SIZE);
         assertThat(bookingDtos).isNotNull();
         assertThat(bookingDtos).hasSize(1);
         assertThat(bookingDtos.getFirst().getItem().getId()).isEqualTo(bookingDto.getItem().getId());
 
-        bookingDtos = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.FUTURE);
+        bookingDtos = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.FUTURE, null, null, PAGE_SIZE);
         assertThat(bookingDtos).isNotNull();
         assertThat(bookingDtos).hasSize(1);
         assertThat(bookingDtos.getFirst().getItem().getId()).isEqualTo(bookingDto2.getItem().getId());
 
-        bookingDtos = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.WAITING);
+        bookingDtos = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.WAITING, null, null, PAGE_SIZE);
         assertThat(bookingDtos).isNotNull();
         assertThat(bookingDtos).hasSize(3);
         assertThat(bookingDtos.getFirst().getItem().getId()).isEqualTo(bookingDto2.getItem().getId());
         assertThat(bookingDtos.getLast().getItem().getId()).isEqualTo(bookingDto.getItem().getId());
 
         bookingService.approve(userDto.getId(), bookingDto.getId(), false);
-        bookingDtos = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.REJECTED);
+        bookingDtos = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.REJECTED, null, null, PAGE_SIZE);
         assertThat(bookingDtos).isNotNull();
         assertThat(bookingDtos).hasSize(1);
         assertThat(bookingDtos.getFirst().getItem().getId()).isEqualTo(bookingDto.getItem().getId());
 
-        bookingDtos = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.PAST);
+        bookingDtos = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.PAST, null, null, PAGE_SIZE);
         assertThat(bookingDtos).isNotNull();
         assertThat(bookingDtos).hasSize(1);
         assertThat(bookingDtos.getFirst().getItem().getId()).isEqualTo(bookingDto3.getItem().getId());
 
         assertThrows(ValidationException.class, () -> {
-            bookingService.getBookingsByBooker(bookerDto.getId(), null);
+            bookingService.getBookingsByBooker(bookerDto.getId(), null, null, null, PAGE_SIZE);
         }, "По неверно заданному статусу нельзя найти бронирования");
     }
 
+    @Test
+    void getBookingsByBookerNextPage() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        BookingDto bookingDto = bookingService.add(new BookingCreateDto(start, start.plusHours(1),
+                itemDto.getId(), bookerDto.getId()));
+        BookingDto bookingDto2 = bookingService.add(new BookingCreateDto(start, start.plusHours(1),
+                itemDto2.getId(), bookerDto.getId()));
+        BookingDto bookingDto3 = bookingService.add(new BookingCreateDto(start.minusHours(1), start,
+                itemDto3.getId(), bookerDto.getId()));
+
+        List<BookingDto> firstPage = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.ALL,
+                null, null, 1);
+        assertThat(firstPage).extracting(BookingDto::getId).containsExactly(bookingDto2.getId());
+
+        BookingDto cursor = firstPage.getLast();
+        List<BookingDto> nextPage = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.FUTURE,
+                cursor.getStart(), cursor.getId(), PAGE_SIZE);
+        assertThat(nextPage).extracting(BookingDto::getId)
+                .containsExactly(bookingDto.getId(), bookingDto3.getId());
+
+        nextPage = bookingService.getBookingsByOwner(userDto.getId(), BookingState.WAITING,
+                bookingDto.getStart(), bookingDto.getId(), PAGE_SIZE);
+        assertThat(nextPage).extracting(BookingDto::getId).containsExactly(bookingDto3.getId());
+    }
+
     @Test
     void getBookingsByOwner() {
         BookingDto bookingDto = bookingService.add(new BookingCreateDto(LocalDateTime.now()
@@ -240,41 +344,77 @@ class BookingServiceTest {
         BookingDto bookingDto3 = bookingService.add(new BookingCreateDto(LocalDateTime.now(), LocalDateTime.now()
                 .plusNanos(1), itemDto3.getId(), bookerDto.getId()));
 
-        List<BookingDto> bookingDtos = bookingService.getBookingsByOwner(userDto.getId(), BookingState.ALL);
+        List<BookingDto> bookingDtos = bookingService.getBookingsByOwner(userDto.getId(), BookingState.ALL, null, null, PAGE_SIZE);
         assertThat(bookingDtos).isNotNull();
         assertThat(bookingDtos).hasSize(3);
         assertThat(bookingDtos.getFirst().getItem().getId()).isEqualTo(bookingDto2.getItem().getId());
         assertThat(bookingDtos.getLast().getItem().getId()).isEqualTo(bookingDto.getItem().getId());
 
-        bookingDtos = bookingService.getBookingsByOwner(userDto.getId(), BookingState.CURRENT);
+        bookingDtos = bookingService.getBookingsByOwner(userDto.getId(), BookingState.CURRENT, null, null, PAGE_SIZE);
         assertThat(bookingDtos).isNotNull();
         assertThat(bookingDtos).hasSize(1);
         assertThat(bookingDtos.getFirst().getItem().getId()).isEqualTo(bookingDto.getItem().getId());
 
-        bookingDtos = bookingService.getBookingsByOwner(userDto.getId(), BookingState.FUTURE);
+        bookingDtos = bookingService.getBookingsByOwner(userDto.getId(), BookingState.FUTURE, null, null, PAGE_SIZE);
         assertThat(bookingDtos).isNotNull();
         assertThat(bookingDtos).hasSize(1);
         assertThat(bookingDtos.getFirst().getItem().getId()).isEqualTo(bookingDto2.getItem().getId());
 
-        bookingDtos = bookingService.getBookingsByOwner(userDto.getId(), BookingState.WAITING);
+        bookingDtos = bookingService.getBookingsByOwner(userDto.getId(), BookingState.WAITING, null, null, PAGE_SIZE);
         assertThat(bookingDtos).isNotNull();
         assertThat(bookingDtos).hasSize(3);
         assertThat(bookingDtos.getFirst().getItem().getId()).isEqualTo(bookingDto2.getItem().getId());
         assertThat(bookingDtos.getLast().getItem().getId()).isEqualTo(bookingDto.getItem().getId());
 
         bookingService.approve(userDto.getId(), bookingDto.getId(), false);
-        bookingDtos = bookingService.getBookingsByOwner(userDto.getId(), BookingState.REJECTED);
+        bookingDtos = bookingService.getBookingsByOwner(userDto.getId(), BookingState.REJECTED, null, null, PAGE_SIZE);
         assertThat(bookingDtos).isNotNull();
         assertThat(bookingDtos).hasSize(1);
         assertThat(bookingDtos.getFirst().getItem().getId()).isEqualTo(bookingDto.getItem().getId());
 
-        bookingDtos = bookingService.getBookingsByOwner(userDto.getId(), BookingState.PAST);
+        bookingDtos = bookingService.getBookingsByOwner(userDto.getId(), BookingState.PAST, null, null, PAGE_SIZE);
         assertThat(bookingDtos).isNotNull();
         assertThat(bookingDtos).hasSize(1);
         assertThat(bookingDtos.getFirst().getItem().getId()).isEqualTo(bookingDto3.getItem().getId());
 
         assertThrows(ValidationException.class, () -> {
-            bookingService.getBookingsByOwner(userDto.getId(), null);
+            bookingService.getBookingsByOwner(userDto.getId(), null, null, null, PAGE_SIZE);
         }, "По неверно заданному статусу нельзя найти бронирования");
     }
+
+    @Test
+    void getBookingsByOwnerPaged() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        BookingDto bookingDto = bookingService.add(new BookingCreateDto(start, start.plusHours(1),
+                itemDto.getId(), bookerDto.getId()));
+        BookingDto bookingDto2 = bookingService.add(new BookingCreateDto(start, start.plusHours(1),
+                itemDto2.getId(), bookerDto.getId()));
+        BookingDto bookingDto3 = bookingService.add(new BookingCreateDto(start.plusHours(2), start.plusHours(3),
+                itemDto.getId(), bookerDto.getId()));
+
+        List<BookingDto> firstPage = bookingService.getBookingsByOwner(userDto.getId(), BookingState.ALL,
+                null, null, 2);
+        assertThat(firstPage).hasSize(2);
+        assertThat(firstPage.getFirst().getId()).isEqualTo(bookingDto3.getId());
+        assertThat(firstPage.getLast().getId()).isEqualTo(bookingDto2.getId());
+
+        BookingDto cursor = firstPage.getLast();
+        List<BookingDto> secondPage = bookingService.getBookingsByOwner(userDto.getId(), BookingState.ALL,
+                cursor.getStart(), cursor.getId(), 2);
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.getFirst().getId()).isEqualTo(bookingDto.getId());
+
+        List<BookingDto> bookerPage = bookingService.getBookingsByBooker(bookerDto.getId(), BookingState.FUTURE,
+                cursor.getStart(), cursor.getId(), 2);
+        assertThat(bookerPage).hasSize(1);
+        assertThat(bookerPage.getFirst().getId()).isEqualTo(bookingDto.getId());
+    }
+
+    @Test
+    void getBookingsWrongPageSize() {
+        assertThrows(ValidationException.class, () -> bookingService.getBookingsByOwner(userDto.getId(),
+                BookingState.ALL, null, null, 0));
+        assertThrows(ValidationException.class, () -> bookingService.getBookingsByBooker(bookerDto.getId(),
+                BookingState.ALL, null, null, -1));
+    }
 }
\ No newline at end of file
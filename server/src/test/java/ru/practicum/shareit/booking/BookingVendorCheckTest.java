@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingVendorCheckTest {
+    private final DriverManagerDataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:vendor-check", "sa", "");
+
+    @Test
+    void constraintRejectedOnH2() {
+        BookingProperties properties = new BookingProperties();
+        properties.setOverlapCheck(BookingOverlapCheck.CONSTRAINT);
+
+        assertThatThrownBy(() -> new BookingVendorCheck(h2, properties).check())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("overlap-check=CONSTRAINT")
+                .hasMessageContaining("H2");
+    }
+
+    @Test
+    void advisoryRejectedOnH2() {
+        BookingProperties properties = new BookingProperties();
+        properties.setAdmissionLock(BookingAdmissionLock.ADVISORY);
+
+        assertThatThrownBy(() -> new BookingVendorCheck(h2, properties).check())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("admission-lock=ADVISORY");
+    }
+
+    @Test
+    void portableModesAcceptedOnH2() {
+        BookingProperties properties = new BookingProperties();
+        properties.setOverlapCheck(BookingOverlapCheck.INDEX);
+
+        assertThatCode(() -> new BookingVendorCheck(h2, properties).check()).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.CommittedDataTest;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Многопоточная проверка оптимистической блокировки вещей.
+ */
+@SpringBootTest
+@SpyBean(ItemSearchEngine.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemConcurrentUpdateTest extends CommittedDataTest {
+
+    private final ItemService itemService;
+    private final UserService userService;
+    private final PlatformTransactionManager transactionManager;
+    private final ItemSearchEngine itemSearchEngine;
+
+    private final ItemRepository itemRepository;
+
+    public static final int THREADS = 4;
+
+    private UserDto ownerDto;
+    private ItemDto itemDto;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        ownerDto = userService.add(new UserCreateDto("versionOwner", "versionOwner@mail.org"));
+        itemDto = itemService.add(new ItemCreateDto("Перфоратор", "Перфоратор для бетона", true, null,
+                ownerDto.getId()));
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentUpdatesOfSameItemAllApplied() throws Exception {
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<ItemDto>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            String name = "Перфоратор " + i;
+            results.add(executor.submit(() -> {
+                startLatch.await();
+                return itemService.update(new ItemUpdateDto(itemDto.getId(), name, null, null,
+                        ownerDto.getId()));
+            }));
+        }
+        startLatch.countDown();
+
+        for (Future<ItemDto> result : results) {
+            assertThat(result.get(30, TimeUnit.SECONDS)).isNotNull();
+        }
+        assertThat(itemRepository.findById(itemDto.getId()).orElseThrow().getVersion()).isEqualTo(THREADS);
+    }
+
+    @Test
+    void staleUpdateRetriedWithoutLostWrite() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch flushed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            Item item = itemRepository.findById(itemDto.getId()).orElseThrow();
+            item.setDescription("Перфоратор для бетона и кирпича");
+            itemRepository.saveAndFlush(item);
+            flushed.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(flushed.await(30, TimeUnit.SECONDS)).isTrue();
+
+        // the first attempt has changed the stale version: the concurrent transaction commits before it is flushed
+        AtomicInteger attempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                release.countDown();
+                holder.get(30, TimeUnit.SECONDS);
+            }
+            return invocation.callRealMethod();
+        }).when(itemSearchEngine).indexAfterCommit(any(Item.class));
+
+        ItemDto updated = executor.submit(() -> itemService.update(new ItemUpdateDto(itemDto.getId(),
+                "Перфоратор SDS", null, null, ownerDto.getId()))).get(30, TimeUnit.SECONDS);
+
+        assertThat(attempts).as("update attempts").hasValue(2);
+        assertThat(updated.getName()).isEqualTo("Перфоратор SDS");
+        Item item = itemRepository.findById(itemDto.getId()).orElseThrow();
+        assertThat(item.getDescription()).isEqualTo("Перфоратор для бетона и кирпича");
+        assertThat(item.getVersion()).isEqualTo(2L);
+    }
+}
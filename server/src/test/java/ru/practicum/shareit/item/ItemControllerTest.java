@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -15,13 +16,19 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBookingDatesComments;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.imports.ItemImportFormat;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,6 +37,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -75,6 +84,38 @@ class ItemControllerTest {
         verify(itemService, times(1)).add(any());
     }
 
+    @Test
+    void importItemsCsv() throws Exception {
+        ItemImportResultDto result = new ItemImportResultDto();
+        result.addImported();
+        result.addRejected(3, "Значение available должно быть true или false");
+
+        when(itemService.addAll(anyLong(), eq(ItemImportFormat.CSV), any())).thenReturn(result);
+
+        mockMvc.perform(post("/items/import")
+                        .header(SHARER_USER_ID, USER_ID_TEST)
+                        .content("name,description,available\nДрель,Дрель с ударным механизмом,true\n")
+                        .contentType("text/csv; charset=UTF-8")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+
+        verify(itemService, times(1)).addAll(eq(USER_ID_TEST), eq(ItemImportFormat.CSV), any());
+    }
+
+    @Test
+    void importItemsUnsupportedFormat() throws Exception {
+        mockMvc.perform(post("/items/import")
+                        .header(SHARER_USER_ID, USER_ID_TEST)
+                        .content("Дрель")
+                        .contentType(MediaType.TEXT_PLAIN))
+                .andExpect(status().isBadRequest());
+
+        verify(itemService, never()).addAll(anyLong(), any(), any());
+    }
+
     @Test
     void updateItem() throws Exception {
         ItemUpdateDto itemUpdateDto = new ItemUpdateDto(RESULT_ID_TEST, "Дрель ", "Дрель с ударным механизмом (2000 Вт)",
@@ -98,7 +139,7 @@ class ItemControllerTest {
 
     @Test
     void getItem() throws Exception {
-        when(itemService.getById(RESULT_ID_TEST)).thenReturn(new ItemDtoBookingDatesComments());
+        when(itemService.getById(eq(RESULT_ID_TEST), any())).thenReturn(new ItemDtoBookingDatesComments());
 
         mockMvc.perform(get("/items/{itemId}", RESULT_ID_TEST)
                         .header(SHARER_USER_ID, USER_ID_TEST)
@@ -106,7 +147,25 @@ class ItemControllerTest {
                 .andDo(print())
                 .andExpect(status().isOk());
 
-        verify(itemService, times(1)).getById(RESULT_ID_TEST);
+        verify(itemService, times(1)).getById(eq(RESULT_ID_TEST), any());
+    }
+
+    @Test
+    void getItemNotModified() throws Exception {
+        String etag = "\"0123456789abcdef\"";
+        when(itemService.getById(eq(RESULT_ID_TEST), any())).thenAnswer(invocation ->
+                invocation.<Predicate<String>>getArgument(1).test(etag) ? null : new ItemDtoBookingDatesComments());
+
+        mockMvc.perform(get("/items/{itemId}", RESULT_ID_TEST)
+                        .header(SHARER_USER_ID, USER_ID_TEST)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        verify(itemService, times(1)).getById(eq(RESULT_ID_TEST), any());
+        verify(itemService, never()).getById(RESULT_ID_TEST);
     }
 
     @Test
@@ -125,7 +184,7 @@ class ItemControllerTest {
 
     @Test
     void searchItems() throws Exception {
-        when(itemService.search("", USER_ID_TEST)).thenReturn(Collections.emptyList());
+        when(itemService.search("", USER_ID_TEST, 0, 20)).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/items/search")
                         .param("text", "")
@@ -134,7 +193,7 @@ class ItemControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(mapper.writeValueAsString(Collections.emptyList())));
 
-        verify(itemService, times(1)).search("", USER_ID_TEST);
+        verify(itemService, times(1)).search("", USER_ID_TEST, 0, 20);
     }
 
     @Test
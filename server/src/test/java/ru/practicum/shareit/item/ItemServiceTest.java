@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.assertj.core.api.recursive.comparison.RecursiveComparisonConfiguration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,7 +19,11 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoBookingDatesComments;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.dto.ItemSearchDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.imports.ItemImportFormat;
+import ru.practicum.shareit.item.imports.ItemImportReader;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.ItemRequestService;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
@@ -28,9 +33,11 @@ import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.StringReader;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -54,6 +61,8 @@ class ItemServiceTest {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
 
+    private final ItemProperties itemProperties;
+
     private UserDto userDto;
 
     @BeforeEach
@@ -93,16 +102,90 @@ class ItemServiceTest {
         }, "Testing wrong requestId failed");
     }
 
+    @Test
+    void importItemsNdjson() {
+        ItemRequestDto requestDto = itemRequestService.add(new ItemRequestCreateDto("Need some big instrument",
+                userDto.getId()));
+        String ndjson = "{\"name\":\"Drill\",\"description\":\"Cordless drill\",\"available\":true}\n" +
+                "\n" +
+                "{\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":false," +
+                "\"requestId\":" + requestDto.getId() + "}\n" +
+                "{\"name\":\"\",\"description\":\"No name\",\"available\":true}\n" +
+                "{\"name\":\"Hammer\"\n" +
+                "{\"name\":\"Ladder\",\"description\":\"Tall ladder\",\"available\":true,\"requestId\":1234}\n";
+
+        ItemImportResultDto result = itemService.addAll(userDto.getId(), ItemImportFormat.NDJSON,
+                new StringReader(ndjson));
+
+        assertEquals(2, result.getImported(), "Wrong imported count");
+        assertEquals(3, result.getRejected(), "Wrong rejected count");
+        assertThat(result.getErrors()).extracting("line").containsExactly(4L, 5L, 6L);
+        List<ItemDtoBookingDatesComments> items = itemService.findAllByOwnerId(userDto.getId());
+        assertThat(items).extracting("name").containsExactlyInAnyOrder("Drill", "Saw");
+        assertThat(itemRepository.getItemsByRequestId(requestDto.getId())).hasSize(1);
+    }
+
+    @Test
+    void importItemsCsv() {
+        itemProperties.setImportChunkSize(2);
+        try {
+            String csv = "available,name,description\n" +
+                    "true,Drill,\"Cordless drill, 18V\"\n" +
+                    "false,Saw,\"Hand saw \"\"Gross\"\"\"\n" +
+                    "maybe,Hammer,Steel hammer\n" +
+                    "true,Ladder,Tall ladder\n";
+
+            ItemImportResultDto result = itemService.addAll(userDto.getId(), ItemImportFormat.CSV,
+                    new StringReader(csv));
+
+            assertEquals(3, result.getImported(), "Wrong imported count");
+            assertEquals(1, result.getRejected(), "Wrong rejected count");
+            assertEquals(4L, result.getErrors().get(0).getLine(), "Wrong error line");
+            assertThat(itemService.findAllByOwnerId(userDto.getId())).extracting("description")
+                    .containsExactlyInAnyOrder("Cordless drill, 18V", "Hand saw \"Gross\"", "Tall ladder");
+        } finally {
+            itemProperties.setImportChunkSize(500);
+        }
+    }
+
+    @Test
+    void importItemsCsvWrongHeader() {
+        assertThrows(ValidationException.class, () -> {
+            itemService.addAll(userDto.getId(), ItemImportFormat.CSV, new StringReader("name,description\n"));
+        }, "Testing CSV header without available failed");
+    }
+
+    @Test
+    void importItemsLongLineRejected() {
+        String longLine = "{\"name\":\"Дрель\",\"description\":\"" + "д".repeat(ItemImportReader.MAX_LINE_LENGTH)
+                + "\",\"available\":true}";
+        String ndjson = longLine + "\r\n"
+                + "{\"name\":\"Стремянка\",\"description\":\"Стремянка алюминиевая\",\"available\":true}\r\n";
+
+        ItemImportResultDto result = itemService.addAll(userDto.getId(), ItemImportFormat.NDJSON,
+                new StringReader(ndjson));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getLine()).isEqualTo(1L));
+        assertThat(itemService.findAllByOwnerId(userDto.getId())).extracting("name").containsExactly("Стремянка");
+    }
+
     @Test
     void update() {
         ItemCreateDto itemCreateDto = new ItemCreateDto("Test new item", "Test new item description",
                 true, null, userDto.getId());
         ItemDto itemDto = itemService.add(itemCreateDto);
+        String etag = etagOf(itemDto.getId());
 
         ItemUpdateDto itemUpdateDto = new ItemUpdateDto(itemDto.getId(), "Test new item updated",
                 "Test new item description updated", false, userDto.getId());
 
         ItemDto itemDtoUpdated = itemService.update(itemUpdateDto);
+        itemRepository.flush();
+
+        assertThat(etagOf(itemDto.getId())).isNotEqualTo(etag);
 
         assertThat(itemDtoUpdated).isNotNull();
         assertEquals(itemDto.getId(), itemDtoUpdated.getId(), "itemId has changed");
@@ -230,6 +313,51 @@ class ItemServiceTest {
         assertThat(items).hasSize(3);
     }
 
+    @Test
+    void findAllByOwnerIdSingleQueryMatchesSequential() {
+        ItemDto item = itemService.add(new ItemCreateDto("Test new item", "Test new item description",
+                true, null, userDto.getId()));
+        ItemDto item2 = itemService.add(new ItemCreateDto("Test new item2", "Test new item description2",
+                true, null, userDto.getId()));
+        itemService.add(new ItemCreateDto("Test new item3", "Test new item description3",
+                true, null, userDto.getId()));
+
+        UserDto booker = userService.add(new UserCreateDto("NewBooker", "newbooker@google.com"));
+        UserDto booker2 = userService.add(new UserCreateDto("NewBooker2", "newbooker2@google.com"));
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        BookingDto booking = bookingService.add(new BookingCreateDto(now.minusDays(3), now.minusDays(2),
+                item.getId(), booker.getId()));
+        bookingService.approve(userDto.getId(), booking.getId(), true);
+        BookingDto booking2 = bookingService.add(new BookingCreateDto(now.minusDays(2), now.minusDays(1),
+                item.getId(), booker2.getId()));
+        bookingService.approve(userDto.getId(), booking2.getId(), true);
+        bookingService.add(new BookingCreateDto(now.plusDays(1), now.plusDays(2), item2.getId(), booker.getId()));
+
+        itemService.addComment(new CommentCreateDto("Item works fine", item.getId(), booker.getId()));
+        itemService.addComment(new CommentCreateDto("Item works fine again", item.getId(), booker2.getId()));
+
+        List<ItemDtoBookingDatesComments> singleQuery = itemService.findAllByOwnerId(userDto.getId());
+        List<ItemDtoBookingDatesComments> sequential;
+        List<ItemDtoBookingDatesComments> parallel;
+        itemProperties.setOwnerItemsRead(OwnerItemsRead.SEQUENTIAL);
+        try {
+            sequential = itemService.findAllByOwnerId(userDto.getId());
+            itemProperties.setOwnerItemsRead(OwnerItemsRead.PARALLEL);
+            parallel = itemService.findAllByOwnerId(userDto.getId());
+        } finally {
+            itemProperties.setOwnerItemsRead(OwnerItemsRead.SINGLE_QUERY);
+        }
+
+        assertThat(singleQuery).hasSize(3);
+        assertThat(singleQuery.getFirst().getComments()).hasSize(2);
+        assertThat(singleQuery)
+                .usingRecursiveFieldByFieldElementComparator(RecursiveComparisonConfiguration.builder()
+                        .withIgnoreCollectionOrder(true)
+                        .build())
+                .containsExactlyInAnyOrderElementsOf(sequential)
+                .containsExactlyInAnyOrderElementsOf(parallel);
+    }
+
     @Test
     void findAllByOwnerIdNearestBooking() {
         ItemDto item = itemService.add(new ItemCreateDto("Test new item", "Test new item description",
@@ -269,6 +397,37 @@ class ItemServiceTest {
         assertThat(items).hasSize(1);
     }
 
+    @Test
+    void findAllByOwnerIdLastAndNextBookingDates() {
+        ItemDto item = itemService.add(new ItemCreateDto("Test new item", "Test new item description",
+                true, null, userDto.getId()));
+        ItemDto notBookedItem = itemService.add(new ItemCreateDto("Test new item2", "Test new item description2",
+                true, null, userDto.getId()));
+        UserDto booker = userService.add(new UserCreateDto("NewBooker", "newbooker@google.com"));
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        bookingService.add(new BookingCreateDto(now.minusDays(3), now.minusDays(2), item.getId(), booker.getId()));
+        bookingService.add(new BookingCreateDto(now.minusDays(1), now.minusHours(1), item.getId(), booker.getId()));
+        bookingService.add(new BookingCreateDto(now.plusDays(1), now.plusDays(2), item.getId(), booker.getId()));
+        bookingService.add(new BookingCreateDto(now.plusDays(3), now.plusDays(4), item.getId(), booker.getId()));
+
+        List<ItemDtoBookingDatesComments> items = itemService.findAllByOwnerId(userDto.getId());
+
+        assertThat(items).hasSize(2);
+        ItemDtoBookingDatesComments booked = items.stream()
+                .filter(itemDto -> itemDto.getId().equals(item.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(now.minusDays(1), booked.getLastBooking(), "Wrong last booking date");
+        assertEquals(now.plusDays(1), booked.getNextBooking(), "Wrong next booking date");
+        ItemDtoBookingDatesComments notBooked = items.stream()
+                .filter(itemDto -> itemDto.getId().equals(notBookedItem.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(notBooked.getLastBooking()).isNull();
+        assertThat(notBooked.getNextBooking()).isNull();
+    }
+
     @Test
     void search() {
         ItemCreateDto itemCreateDto = new ItemCreateDto("Test new item", "Test new item description",
@@ -279,12 +438,44 @@ class ItemServiceTest {
         itemService.add(itemCreateDto);
         itemService.add(itemCreateDto2);
 
-        List<ItemDto> items = itemService.search("item2", userDto.getId());
+        List<ItemSearchDto> items = itemService.search("item2", userDto.getId(), 0, 20);
 
         assertThat(items).hasSize(1);
         assertEquals("Test new item2", items.getFirst().getName(), "Wrong name for item2");
     }
 
+    @Test
+    void searchPaged() {
+        for (int i = 0; i < 3; i++) {
+            itemService.add(new ItemCreateDto("Paged item " + i, "Paged item description " + i,
+                    true, null, userDto.getId()));
+        }
+
+        List<ItemSearchDto> firstPage = itemService.search("paged", userDto.getId(), 0, 2);
+        List<ItemSearchDto> secondPage = itemService.search("paged", userDto.getId(), 2, 2);
+
+        assertThat(firstPage).extracting(ItemSearchDto::getName).containsExactly("Paged item 0", "Paged item 1");
+        assertThat(secondPage).extracting(ItemSearchDto::getName).containsExactly("Paged item 2");
+    }
+
+    @Test
+    void searchFromNotMultipleOfSize() {
+        for (int i = 0; i < 4; i++) {
+            itemService.add(new ItemCreateDto("Offset item " + i, "Offset item description " + i,
+                    true, null, userDto.getId()));
+        }
+
+        List<ItemSearchDto> items = itemService.search("offset", userDto.getId(), 1, 2);
+
+        assertThat(items).extracting(ItemSearchDto::getName).containsExactly("Offset item 1", "Offset item 2");
+    }
+
+    @Test
+    void searchWrongPage() {
+        assertThrows(ValidationException.class, () -> itemService.search("item", userDto.getId(), 0, 0));
+        assertThrows(ValidationException.class, () -> itemService.search("item", userDto.getId(), -1, 10));
+    }
+
     @Test
     void addComment() {
         ItemCreateDto itemCreateDto = new ItemCreateDto("Test new item", "Test new item description",
@@ -306,10 +497,14 @@ class ItemServiceTest {
             System.out.println("Error while waiting 3 seconds.");
         }
 
+        String etag = etagOf(item.getId());
         CommentDto commentReady = itemService.addComment(new CommentCreateDto("It works perfectly!", item.getId(), booker.getId()));
         ItemDtoBookingDatesComments itemDtoFrom = itemService.getById(item.getId());
 
         assertEquals("It works perfectly!", itemDtoFrom.getComments().getFirst().getText(), "Comment has wrong text");
+        assertThat(etagOf(item.getId())).isNotEqualTo(etag)
+                .isEqualTo(etagOf(item.getId()));
+        assertThat(itemService.getById(item.getId(), etagOf(item.getId())::equals)).isNull();
     }
 
     @Test
@@ -337,4 +532,14 @@ class ItemServiceTest {
             itemService.addComment(new CommentCreateDto("It works, but I want more", item.getId(), booker.getId()));
         }, "Booker has no rights to make a comment");
     }
+
+    private String etagOf(long itemId) {
+        AtomicReference<String> etag = new AtomicReference<>();
+        itemService.getById(itemId, value -> {
+            etag.set(value);
+            return false;
+        });
+
+        return etag.get();
+    }
 }
\ No newline at end of file
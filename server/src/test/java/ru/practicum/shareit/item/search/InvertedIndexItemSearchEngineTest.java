@@ -0,0 +1,89 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InvertedIndexItemSearchEngineTest {
+
+    private final Item drill = item(1L, "Дрель", "Дрель ударная, сверла в комплекте", true);
+    private final Item screwdriver = item(2L, "Шуруповерт", "Аккумуляторная дрель-шуруповерт", true);
+    private final Item ladder = item(3L, "Стремянка", "Стремянка алюминиевая", true);
+    private final Item brokenDrill = item(4L, "Дрель", "Сломанная дрель", false);
+
+    private ItemRepository itemRepository;
+    private InvertedIndexItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findAllByAvailableTrue()).thenReturn(List.of(drill, screwdriver, ladder));
+        when(itemRepository.findAllById(any())).thenReturn(List.of(drill, screwdriver, ladder, brokenDrill));
+        engine = new InvertedIndexItemSearchEngine(itemRepository);
+        engine.rebuild();
+    }
+
+    @Test
+    void searchRanksByRelevance() {
+        List<ItemSearchHit> hits = engine.search("ДРЕЛЬ", 0, 10);
+
+        assertThat(hits).extracting(hit -> hit.getItem().getId()).containsExactly(1L, 2L);
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+    }
+
+    @Test
+    void searchByPrefixAndAllTerms() {
+        assertThat(engine.search("стрем", 0, 10)).extracting(hit -> hit.getItem().getId()).containsExactly(3L);
+        assertThat(engine.search("дрель аккумулятор", 0, 10)).extracting(hit -> hit.getItem().getId())
+                .containsExactly(2L);
+        assertThat(engine.search("дрель стремянка", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void searchPaged() {
+        assertThat(engine.search("дрель", 1, 1)).extracting(hit -> hit.getItem().getId()).containsExactly(2L);
+        assertThat(engine.search("дрель", 2, 1)).isEmpty();
+    }
+
+    @Test
+    void indexUpdatedItems() {
+        ladder.setAvailable(false);
+        engine.indexAfterCommit(ladder);
+        engine.indexAfterCommit(brokenDrill);
+        brokenDrill.setAvailable(true);
+        engine.indexAfterCommit(brokenDrill);
+
+        assertThat(engine.search("стремянка", 0, 10)).isEmpty();
+        assertThat(engine.search("сломанная", 0, 10)).extracting(hit -> hit.getItem().getId())
+                .containsExactly(4L);
+        assertThat(engine.size()).isEqualTo(3);
+    }
+
+    @Test
+    void removeOwnerItems() {
+        when(itemRepository.findIdsByOwnerId(1L)).thenReturn(List.of(1L, 3L));
+
+        engine.removeOwnerItemsAfterCommit(1L);
+
+        assertThat(engine.search("дрель", 0, 10)).extracting(hit -> hit.getItem().getId()).containsExactly(2L);
+        assertThat(engine.search("стремянка", 0, 10)).isEmpty();
+        assertThat(engine.size()).isEqualTo(1);
+    }
+
+    private static Item item(long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
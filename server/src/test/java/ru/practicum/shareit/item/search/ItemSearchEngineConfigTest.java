@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import ru.practicum.shareit.item.ItemProperties;
+import ru.practicum.shareit.item.ItemRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ItemSearchEngineConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(ItemSearchEngineConfig.class, ItemSearchIndexEndpoint.class)
+            .withBean(ItemRepository.class, () -> mock(ItemRepository.class))
+            .withUserConfiguration(PropertiesConfig.class);
+
+    @Test
+    void likeByDefault() {
+        contextRunner.run(context -> {
+            assertThat(context).getBean(ItemSearchEngine.class).isInstanceOf(LikeItemSearchEngine.class);
+            assertThat(context).doesNotHaveBean(ItemSearchIndexEndpoint.class);
+        });
+    }
+
+    @Test
+    void engineBoundIgnoringCase() {
+        contextRunner.withPropertyValues("shareit.item.search-engine=trigram").run(context -> {
+            assertThat(context).getBean(ItemSearchEngine.class).isInstanceOf(TrigramItemSearchEngine.class);
+            assertThat(context).hasSingleBean(ItemSearchIndexEndpoint.class);
+        });
+    }
+
+    @Test
+    void engineBoundIgnoringSeparators() {
+        contextRunner.withPropertyValues("shareit.item.search-engine=full-text").run(context -> {
+            assertThat(context).getBean(ItemSearchEngine.class).isInstanceOf(FullTextItemSearchEngine.class);
+            assertThat(context).doesNotHaveBean(ItemSearchIndexEndpoint.class);
+        });
+    }
+
+    @EnableConfigurationProperties(ItemProperties.class)
+    static class PropertiesConfig {
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrigramItemSearchEngineTest {
+
+    private final Item drill = item(1L, "Дрель", "Дрель ударная, сверла в комплекте", true);
+    private final Item screwdriver = item(2L, "Шуруповерт", "Аккумуляторная дрель-шуруповерт", true);
+    private final Item ladder = item(3L, "Стремянка", "Стремянка алюминиевая", true);
+    private final Item brokenDrill = item(4L, "Дрель", "Сломанная дрель", false);
+
+    private ItemRepository itemRepository;
+    private TrigramItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findAllByAvailableTrue()).thenReturn(List.of(drill, screwdriver, ladder));
+        when(itemRepository.findAllById(any())).thenReturn(List.of(drill, screwdriver, ladder, brokenDrill));
+        engine = new TrigramItemSearchEngine(itemRepository);
+        engine.rebuild();
+    }
+
+    @Test
+    void searchSubstringIgnoringCase() {
+        assertThat(engine.search("РЕЛЬ", 0, 10)).extracting(hit -> hit.getItem().getId()).containsExactly(1L, 2L);
+        assertThat(engine.search("уповер", 0, 10)).extracting(hit -> hit.getItem().getId()).containsExactly(2L);
+        assertThat(engine.search("ль-шу", 0, 10)).extracting(hit -> hit.getItem().getId()).containsExactly(2L);
+        assertThat(engine.search("ударная дрель", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void searchShortText() {
+        assertThat(engine.search("ст", 0, 10)).extracting(hit -> hit.getItem().getId()).containsExactly(3L);
+    }
+
+    @Test
+    void searchPaged() {
+        assertThat(engine.search("дрель", 1, 1)).extracting(hit -> hit.getItem().getId()).containsExactly(2L);
+        assertThat(engine.search("дрель", 2, 1)).isEmpty();
+    }
+
+    @Test
+    void indexUpdatedItems() {
+        ladder.setAvailable(false);
+        engine.indexAfterCommit(ladder);
+        brokenDrill.setAvailable(true);
+        engine.indexAfterCommit(brokenDrill);
+
+        assertThat(engine.search("стремянка", 0, 10)).isEmpty();
+        assertThat(engine.search("сломан", 0, 10)).extracting(hit -> hit.getItem().getId()).containsExactly(4L);
+        assertThat(engine.size()).isEqualTo(3);
+    }
+
+    @Test
+    void reindexRebuildsFromRepository() {
+        brokenDrill.setAvailable(true);
+        when(itemRepository.findAllByAvailableTrue()).thenReturn(List.of(drill, brokenDrill));
+
+        engine.reindexAfterCommit();
+
+        assertThat(engine.search("стремянка", 0, 10)).isEmpty();
+        assertThat(engine.search("сломан", 0, 10)).extracting(hit -> hit.getItem().getId()).containsExactly(4L);
+        assertThat(engine.size()).isEqualTo(2);
+    }
+
+    private static Item item(long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
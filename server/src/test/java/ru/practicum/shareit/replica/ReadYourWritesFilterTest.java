@@ -0,0 +1,77 @@
+package ru.practicum.shareit.replica;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.util.Const;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(new ReplicaProperties());
+
+    private final List<Boolean> primaryRequired = new ArrayList<>();
+
+    private final FilterChain chain = (request, response) -> primaryRequired.add(ReadRouting.isPrimaryRequired());
+
+    @Test
+    void readsOfRecentWriterGoToPrimary() throws Exception {
+        perform("GET", "1", 200);
+        perform("PATCH", "1", 200);
+        perform("GET", "1", 200);
+        perform("GET", "2", 200);
+
+        assertThat(primaryRequired).containsExactly(false, false, true, false);
+        assertThat(ReadRouting.isPrimaryRequired()).isFalse();
+    }
+
+    @Test
+    void failedWriteDoesNotPinReads() throws Exception {
+        perform("POST", "1", 404);
+        perform("GET", "1", 200);
+        perform("POST", null, 201);
+        perform("GET", null, 200);
+
+        assertThat(primaryRequired).containsExactly(false, false, false, false);
+    }
+
+    @Test
+    void streamedBodyOfRecentWriterReadsPrimary() throws Exception {
+        List<StreamingResponseBody> bodies = new ArrayList<>();
+        FilterChain export = (request, response) -> bodies.add(ReadRouting.propagate(
+                outputStream -> primaryRequired.add(ReadRouting.isPrimaryRequired())));
+
+        perform("PATCH", "1", 200);
+        perform("GET", "1", 200, export);
+        perform("GET", "2", 200, export);
+        // the bodies are written after the filter has returned, as on the async executor
+        for (StreamingResponseBody body : bodies) {
+            body.writeTo(OutputStream.nullOutputStream());
+        }
+
+        assertThat(primaryRequired).containsExactly(false, true, false);
+        assertThat(ReadRouting.isPrimaryRequired()).isFalse();
+    }
+
+    private void perform(String method, String userId, int status) throws Exception {
+        perform(method, userId, status, chain);
+    }
+
+    private void perform(String method, String userId, int status, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/items");
+        if (userId != null) {
+            request.addHeader(Const.SHARER_USER_ID, userId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(status);
+
+        filter.doFilter(request, response, chain);
+    }
+}
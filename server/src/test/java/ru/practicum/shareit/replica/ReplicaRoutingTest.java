@@ -0,0 +1,100 @@
+package ru.practicum.shareit.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка чтения с реплики на двух базах H2: основной (встроенной) и отдельной базе {@code replica}.
+ */
+@SpringBootTest(properties = {
+        "shareit.replica.urls=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "shareit.replica.lag-query=select 0"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ReplicaRoutingTest {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final HikariDataSource primaryDataSource;
+    private final ReplicaRoutingDataSource replicaDataSource;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+
+        for (int i = 0; i < 50 && replicaDataSource.getAvailableReplicas() == 0; i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        assertThat(database(readOnly)).isEqualToIgnoringCase("replica");
+        assertThat(database(readWrite)).isNotEqualToIgnoringCase("replica");
+    }
+
+    @Test
+    void readOnlyTransactionUsesPrimaryAfterOwnWrite() {
+        Boolean previous = ReadRouting.requirePrimary();
+        try {
+            assertThat(database(readOnly)).isNotEqualToIgnoringCase("replica");
+            assertThat(ReadRouting.propagate(() -> database(readOnly)).get()).isNotEqualToIgnoringCase("replica");
+        } finally {
+            ReadRouting.restore(previous);
+        }
+    }
+
+    @Test
+    void laggingOrBrokenReplicaSkipped() throws Exception {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setJdbcUrl("jdbc:h2:mem:lagging;DB_CLOSE_DELAY=-1");
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setLagQuery("select 10");
+        properties.setMaxLag(Duration.ofSeconds(5));
+        properties.setLagCheckInterval(Duration.ofHours(1));
+
+        try (ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, List.of(replica),
+                properties)) {
+            routing.checkLag();
+            assertThat(routing.getAvailableReplicas()).isZero();
+            try (Connection connection = routing.getConnection()) {
+                assertThat(connection.getCatalog()).isNotEqualToIgnoringCase("lagging");
+            }
+
+            properties.setLagQuery("select 1");
+            try (ReplicaRoutingDataSource healthy = new ReplicaRoutingDataSource(primaryDataSource,
+                    List.of(replica), properties)) {
+                healthy.checkLag();
+                assertThat(healthy.getAvailableReplicas()).isEqualTo(1);
+                replica.close();
+                try (Connection connection = healthy.getConnection()) {
+                    assertThat(connection.getCatalog()).isNotEqualToIgnoringCase("lagging");
+                }
+                assertThat(healthy.getAvailableReplicas()).isZero();
+            }
+        }
+    }
+
+    private String database(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("select database()", String.class));
+    }
+}
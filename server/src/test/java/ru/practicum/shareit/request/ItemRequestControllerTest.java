@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -73,39 +74,45 @@ class ItemRequestControllerTest {
     void getRequestsByRequestorId() throws Exception {
         List<ItemRequestDto> itemRequestDtos = new ArrayList<>();
 
-        when(itemRequestService.getRequestsByRequestorId(USER_ID_TEST)).thenReturn(itemRequestDtos);
+        when(itemRequestService.getRequestsByRequestorId(USER_ID_TEST, null, null, 20)).thenReturn(itemRequestDtos);
 
         mockMvc.perform(get("/requests")
                         .header(SHARER_USER_ID, USER_ID_TEST)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        verify(itemRequestService, times(1)).getRequestsByRequestorId(USER_ID_TEST);
+        verify(itemRequestService, times(1)).getRequestsByRequestorId(USER_ID_TEST, null, null, 20);
     }
 
     @Test
     void getRequestsByOtherUsers() throws Exception {
         List<ItemRequestDto> itemRequestDtos = new ArrayList<>();
 
-        when(itemRequestService.getRequestsByOtherUsers(USER_ID_TEST)).thenReturn(itemRequestDtos);
+        LocalDateTime cursorCreated = LocalDateTime.of(2030, 1, 1, 10, 0, 0);
+
+        when(itemRequestService.getRequestsByOtherUsers(USER_ID_TEST, cursorCreated, 5L, 10))
+                .thenReturn(itemRequestDtos);
 
         mockMvc.perform(get("/requests/all")
                         .header(SHARER_USER_ID, USER_ID_TEST)
+                        .param("cursorCreated", "2030-01-01T10:00:00")
+                        .param("cursorId", "5")
+                        .param("size", "10")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        verify(itemRequestService, times(1)).getRequestsByOtherUsers(USER_ID_TEST);
+        verify(itemRequestService, times(1)).getRequestsByOtherUsers(USER_ID_TEST, cursorCreated, 5L, 10);
     }
 
     @Test
     void getById() throws Exception {
-        when(itemRequestService.getById(USER_ID_TEST, RESULT_ID_TEST)).thenReturn(new ItemRequestDto());
+        when(itemRequestService.getById(eq(USER_ID_TEST), eq(RESULT_ID_TEST), any())).thenReturn(new ItemRequestDto());
 
         mockMvc.perform(get("/requests/{requestId}", RESULT_ID_TEST)
                         .header(SHARER_USER_ID, USER_ID_TEST)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        verify(itemRequestService, times(1)).getById(USER_ID_TEST, RESULT_ID_TEST);
+        verify(itemRequestService, times(1)).getById(eq(USER_ID_TEST), eq(RESULT_ID_TEST), any());
     }
 }
\ No newline at end of file
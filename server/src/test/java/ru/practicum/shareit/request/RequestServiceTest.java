@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.CommentRepository;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.ItemService;
@@ -44,6 +45,8 @@ class RequestServiceTest {
 
     private UserDto userDto;
 
+    public static final int PAGE_SIZE = 20;
+
     @BeforeEach
     void setUp() {
         bookingRepository.deleteAll();
@@ -81,16 +84,39 @@ class RequestServiceTest {
         ItemDto itemDto = itemService.add(new ItemCreateDto("Перфоратор", "Перфоратор профессиональный " +
                 "мощностью 2000 Вт", true, requestDto.getId(), userDto.getId()));
 
-        List<ItemRequestDto> requestDtos = itemRequestService.getRequestsByRequestorId(userDto.getId());
+        List<ItemRequestDto> requestDtos = itemRequestService.getRequestsByRequestorId(userDto.getId(), null, null,
+                PAGE_SIZE);
 
         assertThat(requestDtos).isNotNull();
         assertThat(requestDtos).hasSize(3);
     }
 
+    @Test
+    void getRequestsByRequestorIdPaged() {
+        ItemRequestDto requestDto = itemRequestService.add(new ItemRequestCreateDto("Нужен большой инструмент",
+                userDto.getId()));
+        ItemRequestDto requestDto2 = itemRequestService.add(new ItemRequestCreateDto("Нужно большое устройство",
+                userDto.getId()));
+        ItemRequestDto requestDto3 = itemRequestService.add(new ItemRequestCreateDto("Нужен тяжелый молот",
+                userDto.getId()));
+        itemService.add(new ItemCreateDto("Перфоратор", "Перфоратор профессиональный мощностью 2000 Вт",
+                true, requestDto.getId(), userDto.getId()));
+
+        List<ItemRequestDto> firstPage = itemRequestService.getRequestsByRequestorId(userDto.getId(), null, null, 2);
+        ItemRequestDto last = firstPage.getLast();
+        List<ItemRequestDto> secondPage = itemRequestService.getRequestsByRequestorId(userDto.getId(),
+                last.getCreated(), last.getId(), 2);
+
+        assertThat(firstPage).extracting(ItemRequestDto::getId).containsExactly(requestDto3.getId(),
+                requestDto2.getId());
+        assertThat(secondPage).extracting(ItemRequestDto::getId).containsExactly(requestDto.getId());
+        assertThat(secondPage.getFirst().getItems()).hasSize(1);
+    }
+
     @Test
     void getRequestsByRequestorIdWrong() {
         assertThrows(NotFoundException.class, () -> {
-            itemRequestService.getRequestsByRequestorId(1234L);
+            itemRequestService.getRequestsByRequestorId(1234L, null, null, PAGE_SIZE);
         }, "Requestor cannot be found by id = 1234");
     }
 
@@ -118,7 +144,8 @@ class RequestServiceTest {
                 userDto.getId());
         itemService.add(itemHummer);
 
-        List<ItemRequestDto> requestDtos = itemRequestService.getRequestsByOtherUsers(userDto.getId());
+        List<ItemRequestDto> requestDtos = itemRequestService.getRequestsByOtherUsers(userDto.getId(), null, null,
+                PAGE_SIZE);
 
         assertThat(requestDtos).isNotNull();
         assertThat(requestDtos).hasSize(2);
@@ -126,6 +153,11 @@ class RequestServiceTest {
         assertTrue(requestDtos.contains(requestDto3), "Запрос Need some big hammer должен быть найден.");
         assertThat(requestDtos.getFirst().getItems()).hasSize(1);
         assertThat(requestDtos.getLast().getItems()).hasSize(2);
+
+        ItemRequestDto last = requestDtos.getFirst();
+        List<ItemRequestDto> nextPage = itemRequestService.getRequestsByOtherUsers(userDto.getId(),
+                last.getCreated(), last.getId(), PAGE_SIZE);
+        assertThat(nextPage).extracting(ItemRequestDto::getId).containsExactly(requestDto2.getId());
     }
 
     @Test
@@ -152,6 +184,14 @@ class RequestServiceTest {
         assertThat(requestDtoResult2.getCreated().isBefore(LocalDateTime.now()));
     }
 
+    @Test
+    void getRequestsWrongPageSize() {
+        assertThrows(ValidationException.class, () -> itemRequestService.getRequestsByRequestorId(userDto.getId(),
+                null, null, 0));
+        assertThrows(ValidationException.class, () -> itemRequestService.getRequestsByOtherUsers(userDto.getId(),
+                null, null, -1));
+    }
+
     @Test
     void getByIdWrong() {
         assertThrows(NotFoundException.class, () -> {
@@ -15,6 +15,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -85,14 +86,14 @@ class UserControllerTest {
 
     @Test
     void getUser() throws Exception {
-        when(userService.getById(USER_ID_TEST)).thenReturn(new UserDto());
+        when(userService.getById(eq(USER_ID_TEST), any())).thenReturn(new UserDto());
 
         mockMvc.perform(get("/users/{userId}", USER_ID_TEST)
                         .accept(MediaType.APPLICATION_JSON))
                 .andDo(print())
                 .andExpect(status().isOk());
 
-        verify(userService, times(1)).getById(USER_ID_TEST);
+        verify(userService, times(1)).getById(eq(USER_ID_TEST), any());
     }
 
     @Test
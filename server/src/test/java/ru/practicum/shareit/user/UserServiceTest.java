@@ -16,7 +16,9 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @Transactional
@@ -24,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 class UserServiceTest {
 
     private final UserService userService;
+    private final UserExistenceCache userExistenceCache;
 
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
@@ -87,4 +90,14 @@ class UserServiceTest {
         }, "Пользователь не должен быть найден после удаления");
 
     }
+
+    @Test
+    void deleteUserEvictsExistenceCache() {
+        UserDto userDto = userService.add(new UserCreateDto("Основной О. О.", "main@yandex.ru"));
+        assertTrue(userExistenceCache.exists(userDto.getId()), "User should exist after add");
+
+        userService.delete(userDto.getId());
+
+        assertFalse(userExistenceCache.exists(userDto.getId()), "User should not exist after delete");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.replica.ReplicaProperties;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InListLoaderTest {
+
+    private InListProperties properties;
+    private InListLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InListProperties();
+        properties.setChunkSize(8);
+        properties.setParallelism(2);
+        loader = new InListLoader(properties, budget(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.shutdown();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void chunksPaddedToPowerOfTwo() {
+        List<List<Long>> chunks = InListLoader.chunks(LongStream.rangeClosed(1, 11).boxed().toList(), 8);
+
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+        assertThat(chunks.get(1)).containsExactly(9L, 10L, 11L, 11L);
+        assertThat(InListLoader.chunks(List.of(5L, 5L), 8)).containsExactly(List.of(5L));
+        assertThat(InListLoader.chunks(List.of(), 8)).isEmpty();
+    }
+
+    @Test
+    void loadMergesChunksRunInParallel() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<Long> result = loader.load(LongStream.rangeClosed(1, 20).boxed().toList(), ids -> {
+            threads.add(Thread.currentThread().getName());
+            return ids.stream().distinct().map(id -> id * 10).toList();
+        });
+
+        assertThat(result).hasSize(20).containsAll(LongStream.rangeClosed(1, 20).map(id -> id * 10).boxed().toList());
+        assertThat(threads).allMatch(name -> name.startsWith("in-list-loader-"));
+    }
+
+    @Test
+    void loadInTransactionRunsSeriallyWithoutBudget() {
+        loader.shutdown();
+        ConnectionBudget budget = budget(2);
+        loader = new InListLoader(properties, budget);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        List<Long> result = loader.load(LongStream.rangeClosed(1, 20).boxed().toList(), ids -> {
+            threads.add(Thread.currentThread().getName());
+            return ids.stream().distinct().toList();
+        });
+
+        assertThat(result).hasSize(20);
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    void loadInTransactionReturnsBudget() {
+        loader.shutdown();
+        ConnectionBudget budget = budget(3);
+        loader = new InListLoader(properties, budget);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        loader.load(LongStream.rangeClosed(1, 20).boxed().toList(), ids -> {
+            threads.add(Thread.currentThread().getName());
+            return ids;
+        });
+
+        assertThat(threads).allMatch(name -> name.startsWith("in-list-loader-"));
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void loadRethrowsChunkFailure() {
+        assertThrows(IllegalStateException.class, () -> loader.load(LongStream.rangeClosed(1, 20).boxed().toList(),
+                ids -> {
+                    throw new IllegalStateException("Ошибка запроса");
+                }));
+    }
+
+    private ConnectionBudget budget(int maximumPoolSize) {
+        FanOutProperties fanOutProperties = new FanOutProperties();
+        fanOutProperties.setMaxConcurrent(0);
+        return new ConnectionBudget(maximumPoolSize, new ReplicaProperties(), properties, fanOutProperties);
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.replica.ReplicaProperties;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ReadOnlyFanOutTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private ReadOnlyFanOut fanOut;
+
+    @AfterEach
+    void tearDown() {
+        fanOut.shutdown();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void submitRunsInReadOnlyTransactionOnVirtualThread() {
+        fanOut = fanOut(new FanOutProperties(), 20);
+
+        CompletableFuture<Thread> future = fanOut.submit(Thread::currentThread);
+
+        Thread thread = fanOut.join(future);
+        assertThat(thread.isVirtual()).isTrue();
+        assertThat(thread.getName()).startsWith("read-fan-out-");
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void submitRunsOnCallerWithoutPermits() {
+        FanOutProperties properties = new FanOutProperties();
+        properties.setMaxConcurrent(0);
+        fanOut = fanOut(properties, 20);
+
+        CompletableFuture<Thread> future = fanOut.submit(Thread::currentThread);
+
+        assertThat(future).isCompletedWithValue(Thread.currentThread());
+        verify(transactionManager, never()).getTransaction(argThat(definition -> true));
+    }
+
+    @Test
+    void submitInTransactionRunsOnCallerWithoutBudget() {
+        fanOut = fanOut(new FanOutProperties(), 12);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        CompletableFuture<Thread> future = fanOut.submit(Thread::currentThread);
+
+        assertThat(future).isCompletedWithValue(Thread.currentThread());
+        verify(transactionManager, never()).getTransaction(argThat(definition -> true));
+    }
+
+    @Test
+    void submitInTransactionReturnsBudget() {
+        FanOutProperties properties = new FanOutProperties();
+        ConnectionBudget budget = new ConnectionBudget(13, new ReplicaProperties(), new InListProperties(), properties);
+        fanOut = new ReadOnlyFanOut(transactionManager, properties, budget);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        Thread thread = fanOut.join(fanOut.submit(Thread::currentThread));
+
+        assertThat(thread.isVirtual()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void joinRethrowsQueryFailure() {
+        fanOut = fanOut(new FanOutProperties(), 20);
+
+        CompletableFuture<Object> future = fanOut.submit(() -> {
+            throw new IllegalStateException("Ошибка запроса");
+        });
+
+        assertThrows(IllegalStateException.class, () -> fanOut.join(future));
+    }
+
+    private ReadOnlyFanOut fanOut(FanOutProperties properties, int maximumPoolSize) {
+        return new ReadOnlyFanOut(transactionManager, properties,
+                new ConnectionBudget(maximumPoolSize, new ReplicaProperties(), new InListProperties(), properties));
+    }
+}